@@ -4,6 +4,10 @@ import android.app.AlertDialog;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
 import android.widget.Button;
 import android.widget.GridLayout;
 import android.widget.LinearLayout;
@@ -11,8 +15,39 @@ import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 public class AIGameActivity extends AppCompatActivity {
 
+    private static final String TAG = "AIGameActivity";
+
+    public static final String EXTRA_DIFFICULTY = "DIFFICULTY"; // имя Difficulty
+
+    private static final String LEAVES_ASSET_NAME = "leaves.bin"; // таблица ценности остатков (LeaveTable)
+
+    /**
+     * Уровни сложности задаются временем, которое AI тратит на поиск хода.
+     */
+    public enum Difficulty {
+        EASY("Лёгкий", 50),
+        MEDIUM("Средний", 200),
+        HARD("Сложный", 1000);
+
+        public final String title;
+        public final long budgetMillis;
+
+        Difficulty(String title, long budgetMillis) {
+            this.title = title;
+            this.budgetMillis = budgetMillis;
+        }
+    }
+
     // UI элементы
     private GridLayout boardGrid;
     private Button[][] cellButtons = new Button[15][15];
@@ -37,6 +72,16 @@ public class AIGameActivity extends AppCompatActivity {
 
     // Кто ходит сейчас
     private Player currentPlayer;
+    private int passes;        // пасов подряд (человека и AI)
+    private boolean gameOver;  // итог по стойкам подведён, ходить больше нельзя
+
+    private Difficulty difficulty = Difficulty.MEDIUM;
+
+    // Поиск хода AI идёт в фоновом потоке, результат применяется в главном
+    private final ExecutorService aiExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "ai-search"));
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private Future<?> aiSearch; // текущий поиск, null если AI не думает
+    private final List<Long> aiThinkMillis = new ArrayList<>(); // время обдумывания каждого хода AI, мс
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -57,12 +102,21 @@ public class AIGameActivity extends AppCompatActivity {
 
         rackLayoutPlayer1 = findViewById(R.id.rackLayoutPlayer1);
 
+        String difficultyName = getIntent().getStringExtra(EXTRA_DIFFICULTY);
+        if (difficultyName != null) {
+            difficulty = Difficulty.valueOf(difficultyName);
+        }
+
         // 2) Создаём Board, Bag, двух игроков
         board = new Board();
         bag   = new Bag();
 
         humanPlayer = new Player();
         aiPlayer    = new AIPlayer();
+        aiPlayer.setParallel(Runtime.getRuntime().availableProcessors() > 1);
+        // На сложном уровне ход выбирается симуляцией (см. Simulator)
+        aiPlayer.setSimulation(difficulty == Difficulty.HARD);
+        loadLeaveTable();
 
         // Раздать по 7 плиток (если мешок не пуст)
         for (int i = 0; i < 7; i++) {
@@ -73,9 +127,8 @@ public class AIGameActivity extends AppCompatActivity {
         // Текущий ход — человек
         currentPlayer = humanPlayer;
 
-        // 3) Создаём движок (Engine) и передаём словарь
-        Dictionary dict = DictionaryManager.getInstance(this).getDictionary();
-        engine = new Engine(currentPlayer, board, dict);
+        // 3) Создаём движок (Engine); словарь подставим, когда DictionaryManager закончит загрузку
+        engine = new Engine(currentPlayer, board, null);
 
         // 4) Генерация кнопок доски и стойки
         createBoardButtons();
@@ -105,9 +158,12 @@ public class AIGameActivity extends AppCompatActivity {
                 engine.player = humanPlayer;
                 boolean valid = engine.checkBoard();
                 if (valid) {
+                    passes = 0;
                     updateScores();
                     fillRackForPlayer(humanPlayer);
-                    switchToAI();  // Передаём ход AI
+                    if (!checkEndGame()) {
+                        switchToAI();  // Передаём ход AI
+                    }
                 }
                 updateBoardGUI();
                 updateRackGUI();
@@ -116,6 +172,10 @@ public class AIGameActivity extends AppCompatActivity {
 
         btnSkipTurn.setOnClickListener(v -> {
             if (currentPlayer == humanPlayer) {
+                passes++;
+                if (checkEndGame()) {
+                    return;
+                }
                 // Если человек пропускает, но ещё не было первого хода (engine.initialMove),
                 // значит пусть AI сделает свой ход первым.
                 if (engine.initialMove) {
@@ -134,6 +194,18 @@ public class AIGameActivity extends AppCompatActivity {
             HelpActivity.start(AIGameActivity.this);
         });
 
+        // Пока словарь грузится в фоне, ходить нельзя ни человеку, ни AI
+        btnSubmit.setEnabled(false);
+        btnSkipTurn.setEnabled(false);
+        DictionaryManager.getInstance(this).whenReady(dictionary -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+            engine.dict = dictionary;
+            btnSubmit.setEnabled(true);
+            btnSkipTurn.setEnabled(true);
+        }, this::showDictionaryError);
+
         // Обновим изначально
         updateScores();
         updateCurrentTurnLabel();
@@ -162,7 +234,7 @@ public class AIGameActivity extends AppCompatActivity {
                 btn.setPadding(0,0,0,0);
 
                 Cell cell = board.cellMatrix[i][j];
-                btn.setBackgroundColor(board.getCellColor(cell));
+                btn.setBackgroundColor(BoardColors.cellColor(cell));
 
                 if (cell.getBonus() != null) {
                     btn.setText(cell.getBonus());
@@ -182,7 +254,7 @@ public class AIGameActivity extends AppCompatActivity {
                         // Если у нас выбрана плитка
                         if (engine.rackTileSelected != null && cell.getTile() == null) {
                             // Проверяем blank
-                            if (engine.rackTileSelected.getLetter().equals("-")) {
+                            if (engine.rackTileSelected.isBlank()) {
                                 ChooseTileDialogFragment dialog =
                                         ChooseTileDialogFragment.newInstance(chosen -> {
                                             Bag.swapBlankTile(chosen.charAt(0));
@@ -262,7 +334,7 @@ public class AIGameActivity extends AppCompatActivity {
                     } else {
                         btn.setText(""); // Обычная пустая клетка
                     }
-                    btn.setBackgroundColor(board.getCellColor(cell)); // Цвет клетки
+                    btn.setBackgroundColor(BoardColors.cellColor(cell)); // Цвет клетки
                 }
             }
         }
@@ -297,27 +369,120 @@ public class AIGameActivity extends AppCompatActivity {
         engine.player = aiPlayer;
         updateCurrentTurnLabel();
 
-        // Запускаем ход AI автоматически
-        doAIturn();
+        // Пока AI думает, кнопки хода недоступны
+        btnSubmit.setEnabled(false);
+        btnSkipTurn.setEnabled(false);
+
+        // Запускаем поиск хода AI в фоне; главный поток успевает отрисовать «AI is thinking...»
+        startAISearch();
+    }
+
+    /**
+     * Загружаем таблицу остатков в потоке AI: задача встаёт в очередь раньше
+     * первого поиска хода, так что поиск уже идёт с таблицей.
+     * Без таблицы AI выбирает ходы только по очкам.
+     */
+    private void loadLeaveTable() {
+        aiExecutor.execute(() -> {
+            try (InputStream in = getAssets().open(LEAVES_ASSET_NAME)) {
+                LeaveTable leaves = LeaveTable.load(in);
+                aiPlayer.setLeaveTable(leaves);
+                Log.i(TAG, "Таблица остатков: " + leaves.size() + " записей");
+            } catch (IOException e) {
+                Log.w(TAG, "Таблица остатков не загружена", e);
+            }
+        });
+    }
+
+    /**
+     * Ищем лучшее слово в фоновом потоке. Доска и стойка AI в это время
+     * не меняются: человек не может ходить, пока ход у AI.
+     * Результат передаётся в главный поток и применяется в onAIMoveFound.
+     */
+    private void startAISearch() {
+        final Dictionary dictionary = engine.dict;
+        final long budgetMillis = difficulty.budgetMillis;
+        final long startedAt = SystemClock.elapsedRealtime();
+        // Мешок пуст: стойка человека известна, и ход ищется перебором до конца партии
+        final Tile[] humanRack = bag.bagIsEmpty() ? humanPlayer.getRack().clone() : null;
+        aiSearch = aiExecutor.submit(() -> {
+            AIPlayer.BestMove bestMove = humanRack != null
+                    ? aiPlayer.findEndgameMove(board, engine, dictionary, humanRack, budgetMillis)
+                    : aiPlayer.findBestMove(board, engine, dictionary, budgetMillis);
+            boolean complete = aiPlayer.wasLastSearchComplete();
+            long thinkMillis = SystemClock.elapsedRealtime() - startedAt;
+            if (Thread.currentThread().isInterrupted()) {
+                return; // поиск отменён (активность закрывается)
+            }
+            if (humanRack != null) {
+                Log.i(TAG, "Эндшпиль: " + aiPlayer.getLastEndgame());
+            } else if (aiPlayer.isSimulation() && aiPlayer.getLastSimulation() != null) {
+                Log.i(TAG, "Симуляция: " + aiPlayer.getLastSimulation());
+            }
+            mainHandler.post(() -> onAIMoveFound(bestMove, thinkMillis, complete));
+        });
+    }
+
+    private void onAIMoveFound(AIPlayer.BestMove bestMove, long thinkMillis, boolean complete) {
+        if (isFinishing() || isDestroyed()) {
+            return;
+        }
+        aiSearch = null;
+        aiThinkMillis.add(thinkMillis);
+        Log.i(TAG, "Ход AI №" + aiThinkMillis.size() + ": " + thinkMillis + " мс, уровень " + difficulty
+                + (complete ? ", перебор полный" : ", остановлен по времени"));
+
+        doAIturn(bestMove);
+        if (checkEndGame()) {
+            updateBoardGUI();
+            updateRackGUI();
+            return;
+        }
 
         // После хода AI возвращаем ход человеку (если игра не закончилась)
+        btnSubmit.setEnabled(true);
+        btnSkipTurn.setEnabled(true);
         switchToHuman();
     }
 
-    // Логика хода AI
-    private void doAIturn() {
-        // Ищем лучшее слово
-        AIPlayer.BestMove bestMove = aiPlayer.findBestMove(
-                board, engine, DictionaryManager.getInstance(this).getDictionary()
-        );
+    /**
+     * Отменяет поиск хода AI, если он идёт, и убирает неприменённые результаты.
+     */
+    private void cancelAISearch() {
+        if (aiSearch != null) {
+            aiSearch.cancel(true);
+            aiSearch = null;
+        }
+        mainHandler.removeCallbacksAndMessages(null);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Игрок ушёл с экрана игры — дальше считать ход незачем
+        if (isFinishing()) {
+            cancelAISearch();
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        cancelAISearch();
+        aiExecutor.shutdownNow();
+        super.onDestroy();
+    }
 
+    // Логика хода AI: применяем найденный ход
+    private void doAIturn(AIPlayer.BestMove bestMove) {
         // Если ничего не нашёл — пропускаем
         if (bestMove == null) {
+            passes++;
             return;
         }
 
         // Если результат 0, значит невыгодно/невалидно — пропускаем
         if (bestMove.score <= 0) {
+            passes++;
             return;
         }
 
@@ -327,6 +492,7 @@ public class AIGameActivity extends AppCompatActivity {
         // Проверяем и начисляем очки
         boolean ok = engine.checkBoard();
         if (ok) {
+            passes = 0;
             fillRackForPlayer(aiPlayer);
             updateScores();
             updateBoardGUI();
@@ -354,9 +520,9 @@ public class AIGameActivity extends AppCompatActivity {
                     if (rackIndex >= 0) {
                         tileFromRack = aiPlayer.getAndRemoveFromRackAt(rackIndex);
                     } else {
-                        // Не нашли в стойке, возможно буква уже лежит на доске, или blank.
-                        // Для упрощения, если не нашли — создаём новую
-                        tileFromRack = new Tile(String.valueOf(needed), 1);
+                        // Такой буквы в стойке нет — ход кладёт пустую плитку как эту букву
+                        aiPlayer.getAndRemoveFromRackAt(aiPlayer.findTileInRack('-'));
+                        tileFromRack = Tile.blankAs(needed);
                     }
                     c.setTile(tileFromRack);
                     engine.recentlyPlayedCellStack.push(c);
@@ -373,7 +539,8 @@ public class AIGameActivity extends AppCompatActivity {
                     if (rackIndex >= 0) {
                         tileFromRack = aiPlayer.getAndRemoveFromRackAt(rackIndex);
                     } else {
-                        tileFromRack = new Tile(String.valueOf(needed), 1);
+                        aiPlayer.getAndRemoveFromRackAt(aiPlayer.findTileInRack('-'));
+                        tileFromRack = Tile.blankAs(needed);
                     }
                     c.setTile(tileFromRack);
                     engine.recentlyPlayedCellStack.push(c);
@@ -390,7 +557,6 @@ public class AIGameActivity extends AppCompatActivity {
         updateCurrentTurnLabel();
         updateBoardGUI();
         updateRackGUI();
-        checkEndGame();
     }
 
     private void fillRackForPlayer(Player p) {
@@ -399,11 +565,27 @@ public class AIGameActivity extends AppCompatActivity {
         }
     }
 
-    private void checkEndGame() {
-        // Пример: если мешок пуст и у обоих игроков пустые стойки
-        if (bag.bagIsEmpty() && humanPlayer.getRackSize() == 0 && aiPlayer.getRackSize() == 0) {
-            showWinner();
+    /**
+     * Конец партии по обычным правилам (как в AIGame и EndgameSolver): мешок пуст
+     * и один из игроков выложил все плитки, или два паса подряд. Тогда подводим
+     * итог по стойкам (AIGame.settleRacks) и показываем победителя.
+     * @return true, если партия закончена
+     */
+    private boolean checkEndGame() {
+        if (gameOver) {
+            return true;
+        }
+        boolean wentOut = bag.bagIsEmpty() && (humanPlayer.getRackSize() == 0 || aiPlayer.getRackSize() == 0);
+        if (!wentOut && passes < 2) {
+            return false;
         }
+        gameOver = true;
+        AIGame.settleRacks(humanPlayer, aiPlayer);
+        updateScores();
+        btnSubmit.setEnabled(false);
+        btnSkipTurn.setEnabled(false);
+        showWinner();
+        return true;
     }
 
     private void showWinner() {
@@ -424,4 +606,19 @@ public class AIGameActivity extends AppCompatActivity {
                 .setPositiveButton("OK", (dialog, which) -> finish())
                 .show();
     }
+
+    /**
+     * Словарь не загрузился: без него ходы не проверить, поэтому сообщаем и закрываем экран.
+     */
+    private void showDictionaryError(Throwable error) {
+        if (isFinishing() || isDestroyed()) {
+            return;
+        }
+        new AlertDialog.Builder(this)
+                .setTitle("Словарь не загружен")
+                .setMessage("Не удалось загрузить словарь: " + error.getMessage())
+                .setCancelable(false)
+                .setPositiveButton("OK", (dialog, which) -> finish())
+                .show();
+    }
 }
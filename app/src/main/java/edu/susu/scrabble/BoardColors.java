@@ -0,0 +1,30 @@
+package edu.susu.scrabble;
+
+import android.graphics.Color;
+
+// Цвета клеток доски для интерфейса (раньше Board.getCellColor; Board живёт в модуле core без Android).
+final class BoardColors {
+
+    private BoardColors() {
+    }
+
+    static int cellColor(Cell cell) {
+        if (cell.getBonus() == null) {
+            return Color.WHITE; // Белый цвет для обычных клеток
+        }
+        switch (cell.getBonus()) {
+            case "DL":
+                return Color.parseColor("#A5D6A7"); // Зеленый для Double Letter
+            case "DW":
+                return Color.parseColor("#FFF59D"); // Желтый для Double Word
+            case "TW":
+                return Color.parseColor("#EF9A9A");  // красный
+            case "TL":
+                return Color.parseColor("#ADD8E6"); // Светло-голубой для Triple Letter
+            case "X":
+                return Color.parseColor("#E57373");  // красный
+            default:
+                return Color.WHITE; // Белый для остальных
+        }
+    }
+}
@@ -1,58 +1,202 @@
 package edu.susu.scrabble;
 
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Singleton-класс для управления словарем.
- * 1) Копирует file.txt из assets во внутреннее хранилище (при первом запуске).
- * 2) Загружает слова в Trie (использует класс Dictionary).
- * 3) Позволяет добавлять новые слова в файл и обновлять Trie.
+ * 1) Отображает в память dict.bin (DAWG, скомпилированный из file.txt при сборке)
+ *    прямо из APK — без разбора текста и без создания объектов на узел.
+ *    Если dict.bin недоступен, копирует file.txt во внутреннее хранилище и строит DAWG из текста.
+ * 2) Загружает слова, добавленные пользователем, из user_words.txt в Trie добавленных слов.
+ * 3) Позволяет добавлять новые слова в файл и обновлять Trie добавленных слов.
+ * Загрузка идёт в фоновом потоке: getInstance возвращается сразу, а готовность
+ * словаря можно дождаться через whenReady (колбэк в главном потоке) или getReadyFuture.
+ * Если загрузка не удалась, следующий вызов getInstance запускает её заново.
  */
 public class DictionaryManager {
-    private static DictionaryManager instance;
-    private Dictionary dictionary;  // наш уже существующий класс с Trie внутри
-    private File internalDictionaryFile; // путь к скопированному file.txt во внутреннем хранилище
+    private static final String TAG = "DictionaryManager";
 
     private static final String DICT_FILE_NAME = "file.txt"; // имя словарного файла
+    private static final String LEXICON_ASSET_NAME = "dict.bin"; // скомпилированный словарь (LexiconFormat)
+    private static final String USER_WORDS_FILE_NAME = "user_words.txt";
 
-    // Приватный конструктор (Singleton)
-    private DictionaryManager(Context context) {
-        // 1) Копируем file.txt, если он ещё не скопирован
-        copyFileFromAssetsIfNeeded(context);
+    private static DictionaryManager instance;
+    private volatile Dictionary dictionary;  // наш уже существующий класс с Trie внутри, null до окончания загрузки
+    private final File userWordsFile; // слова, добавленные пользователем
+
+    // Загрузка словаря в фоне и уведомление о готовности
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "dictionary-loader");
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+    private final CompletableFuture<Dictionary> readyFuture = new CompletableFuture<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Время загрузки (мс), чтобы отслеживать регрессии старта
+    private volatile long lexiconLoadMillis = -1;
+    private volatile long userWordsLoadMillis = -1;
+    private volatile long totalLoadMillis = -1;
+
+    /**
+     * Колбэк готовности словаря; вызывается в главном потоке.
+     */
+    public interface OnReadyListener {
+        void onDictionaryReady(Dictionary dictionary);
+    }
+
+    /**
+     * Колбэк ошибки загрузки словаря; вызывается в главном потоке.
+     */
+    public interface OnFailedListener {
+        void onDictionaryFailed(Throwable error);
+    }
 
-        // 2) Создаем Dictionary, передавая ему Context,
-        //    но теперь он читает уже из внутреннего файла, а не из assets
-        dictionary = new Dictionary(context, getInternalDictionaryFilePath(context));
+    // Приватный конструктор (Singleton): только ставит загрузку в очередь
+    private DictionaryManager(Context context) {
+        userWordsFile = new File(context.getFilesDir(), USER_WORDS_FILE_NAME);
+        long requestedAt = SystemClock.elapsedRealtime();
+        loader.execute(() -> load(context, requestedAt));
     }
 
     /**
      * Инициализация/получение экземпляра DictionaryManager.
+     * Не блокирует: при первом вызове запускает загрузку словаря в фоне.
+     * Если прошлая загрузка завершилась ошибкой, создаёт новый экземпляр и загружает заново.
      */
-    public static DictionaryManager getInstance(Context context) {
-        if (instance == null) {
+    public static synchronized DictionaryManager getInstance(Context context) {
+        if (instance == null || instance.readyFuture.isCompletedExceptionally()) {
             instance = new DictionaryManager(context.getApplicationContext());
         }
         return instance;
     }
 
+    private void load(Context context, long requestedAt) {
+        try {
+            long start = SystemClock.elapsedRealtime();
+            Dictionary loaded;
+            try {
+                // 1) Основной словарь — dict.bin, отображённый в память
+                loaded = new Dictionary(mapLexiconAsset(context));
+                migrateLegacyDictionaryFile(context, loaded);
+            } catch (IOException e) {
+                Log.w(TAG, "dict.bin недоступен, читаем file.txt: " + e.getMessage());
+                // Запасной путь: копируем file.txt, если он ещё не скопирован, и строим словарь из текста
+                copyFileFromAssetsIfNeeded(context);
+                loaded = new Dictionary(getInternalDictionaryFilePath(context));
+            }
+            long lexiconDone = SystemClock.elapsedRealtime();
+
+            // 2) Слова пользователя
+            loadUserWords(loaded);
+            long end = SystemClock.elapsedRealtime();
+
+            lexiconLoadMillis = lexiconDone - start;
+            userWordsLoadMillis = end - lexiconDone;
+            totalLoadMillis = end - requestedAt;
+            dictionary = loaded;
+            Log.i(TAG, "Словарь загружен за " + totalLoadMillis + " мс (словарь " + lexiconLoadMillis
+                    + " мс, слова пользователя " + userWordsLoadMillis + " мс). " + loaded.describe());
+            readyFuture.complete(loaded);
+        } catch (IOException | RuntimeException | OutOfMemoryError e) {
+            // Ни dict.bin, ни file.txt не прочитаны — пустой словарь не выдаём
+            Log.e(TAG, "Не удалось загрузить словарь", e);
+            readyFuture.completeExceptionally(e);
+        }
+    }
+
     /**
-     * Возвращает доступ к объекту Dictionary (где хранится Trie и метод verifyWord).
+     * Возвращает доступ к объекту Dictionary (где хранится словарь и метод verifyWord).
+     * До окончания загрузки возвращает null — дождитесь whenReady.
      */
     public Dictionary getDictionary() {
         return dictionary;
     }
 
+    public boolean isReady() {
+        return dictionary != null;
+    }
+
+    /**
+     * Future, который завершается загруженным словарём (или ошибкой загрузки).
+     */
+    public CompletableFuture<Dictionary> getReadyFuture() {
+        return readyFuture;
+    }
+
+    /**
+     * Вызывает в главном потоке ready, когда словарь загружен, или failed, если
+     * загрузка не удалась (сразу в следующем цикле, если она уже завершена).
+     * Этот экземпляр после ошибки загрузку не повторяет — см. getInstance.
+     */
+    public void whenReady(OnReadyListener ready, OnFailedListener failed) {
+        readyFuture.whenComplete((loaded, error) -> mainHandler.post(() -> {
+            if (error != null) {
+                failed.onDictionaryFailed(error);
+            } else {
+                ready.onDictionaryReady(loaded);
+            }
+        }));
+    }
+
+    /**
+     * Время загрузки в миллисекундах: от вызова getInstance до готовности; -1, пока не загружен.
+     */
+    public long getTotalLoadMillis() {
+        return totalLoadMillis;
+    }
+
+    /**
+     * Время построения/отображения основного словаря, мс.
+     */
+    public long getLexiconLoadMillis() {
+        return lexiconLoadMillis;
+    }
+
+    /**
+     * Время загрузки слов пользователя, мс.
+     */
+    public long getUserWordsLoadMillis() {
+        return userWordsLoadMillis;
+    }
+
+    /**
+     * dict.bin хранится в APK без сжатия (noCompress), поэтому его можно
+     * отобразить в память прямо из APK по смещению, без копирования.
+     * Отображение остаётся действительным и после закрытия канала.
+     */
+    private MappedLexicon mapLexiconAsset(Context context) throws IOException {
+        try (AssetFileDescriptor fd = context.getAssets().openFd(LEXICON_ASSET_NAME);
+             FileInputStream in = fd.createInputStream();
+             FileChannel channel = in.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getLength());
+            return new MappedLexicon(buffer);
+        }
+    }
+
     /**
      * Проверяем, лежит ли уже file.txt во внутренней памяти. Если нет — копируем из assets.
      */
     private void copyFileFromAssetsIfNeeded(Context context) {
-        internalDictionaryFile = new File(context.getFilesDir(), DICT_FILE_NAME);
+        File internalDictionaryFile = new File(context.getFilesDir(), DICT_FILE_NAME);
         if (!internalDictionaryFile.exists()) {
             // если файл не существует, копируем
             AssetUtils.copyAsset(context, DICT_FILE_NAME, internalDictionaryFile.getAbsolutePath());
@@ -66,29 +210,82 @@ public class DictionaryManager {
         return new File(context.getFilesDir(), DICT_FILE_NAME).getAbsolutePath();
     }
 
+    /**
+     * Раньше добавленные слова дописывались в копию file.txt во внутренней памяти.
+     * Переносим из неё слова, которых нет в dict.bin, в user_words.txt и удаляем копию.
+     */
+    private void migrateLegacyDictionaryFile(Context context, Dictionary loaded) {
+        File legacyFile = new File(context.getFilesDir(), DICT_FILE_NAME);
+        if (!legacyFile.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(legacyFile));
+             BufferedWriter writer = new BufferedWriter(new FileWriter(userWordsFile, true))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toLowerCase();
+                if (LexiconFormat.isValidWord(word) && !loaded.getLexicon().contains(word)) {
+                    writer.write(word);
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Ошибка при переносе добавленных слов: " + e.getMessage());
+            return;
+        }
+        if (!legacyFile.delete()) {
+            Log.w(TAG, "Не удалось удалить старую копию file.txt");
+        }
+    }
+
+    private void loadUserWords(Dictionary loaded) {
+        if (!userWordsFile.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(userWordsFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toLowerCase();
+                if (LexiconFormat.isValidWord(word)) {
+                    loaded.getTrie().insertWord(word);
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Ошибка при чтении добавленных слов: " + e.getMessage());
+        }
+    }
+
     /**
      * Добавление нового слова в словарь:
-     * 1) Проверяем дубли в Trie;
+     * 1) Проверяем дубли в словаре;
      * 2) Если нет — добавляем в файл + Trie;
      * 3) Возвращаем результат строки для UI.
      */
     public String addNewWord(String newWord) {
+        Dictionary dictionary = this.dictionary;
+        if (dictionary == null) {
+            return "Словарь ещё загружается, попробуйте позже";
+        }
         if (newWord == null || newWord.trim().isEmpty()) {
             return "Введите слово!";
         }
         newWord = newWord.toLowerCase();
 
-        // Проверим, есть ли уже слово в Trie
+        if (!LexiconFormat.isValidWord(newWord)) {
+            return "Слово должно состоять из латинских букв";
+        }
+
+        // Проверим, есть ли уже слово в словаре
         if (dictionary.verifyWord(newWord)) {
             return "Слово уже есть в словаре";
         }
 
         // 1) Добавляем слово в файл
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(internalDictionaryFile, true))) {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(userWordsFile, true))) {
             bw.write(newWord);
             bw.newLine();
         } catch (IOException e) {
-            Log.e("DictionaryManager", "Ошибка при записи в файл: " + e.getMessage());
+            Log.e(TAG, "Ошибка при записи в файл: " + e.getMessage());
             return "Ошибка при сохранении слова";
         }
 
@@ -88,11 +88,8 @@ public class GameActivity extends AppCompatActivity {
         // Текущий игрок — player1
         currentPlayer = player1;
 
-        // Получаем словарь из DictionaryManager (уже загружен)
-        Dictionary dict = DictionaryManager.getInstance(this).getDictionary();
-
-        // Создаём движок
-        engine = new Engine(currentPlayer, board, dict);
+        // Создаём движок; словарь подставим, когда DictionaryManager закончит загрузку
+        engine = new Engine(currentPlayer, board, null);
 
         // Создаём кнопки на поле
         createBoardButtons();
@@ -136,6 +133,16 @@ public class GameActivity extends AppCompatActivity {
             HelpActivity.start(GameActivity.this);
         });
 
+        // Пока словарь грузится в фоне, ход подтвердить нельзя
+        btnSubmit.setEnabled(false);
+        DictionaryManager.getInstance(this).whenReady(dictionary -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+            engine.dict = dictionary;
+            btnSubmit.setEnabled(true);
+        }, this::showDictionaryError);
+
         btnSkipTurn.setOnClickListener(v -> {
             switchTurn();
         });
@@ -165,7 +172,7 @@ public class GameActivity extends AppCompatActivity {
                 button.setPadding(0, 0, 0, 0);
 
                 Cell cell = board.cellMatrix[i][j];
-                button.setBackgroundColor(board.getCellColor(cell));
+                button.setBackgroundColor(BoardColors.cellColor(cell));
 
                 // Если есть бонус в Cell, показываем
                 if (cell.getBonus() != null) {
@@ -177,7 +184,7 @@ public class GameActivity extends AppCompatActivity {
                 button.setOnClickListener(v -> {
                     // Если у текущего игрока выбрана плитка, и клетка пуста — ставим
                     if (engine.rackTileSelected != null && cell.getTile() == null) {
-                        if (engine.rackTileSelected.getLetter().equals("-")) {
+                        if (engine.rackTileSelected.isBlank()) {
                             // Если это blank, спрашиваем букву
                             ChooseTileDialogFragment dialog = ChooseTileDialogFragment.newInstance(chosen -> {
                                 Bag.swapBlankTile(chosen.charAt(0));
@@ -293,7 +300,7 @@ public class GameActivity extends AppCompatActivity {
                     } else {
                         btn.setText(""); // Обычная пустая клетка
                     }
-                    btn.setBackgroundColor(board.getCellColor(cell)); // Цвет клетки
+                    btn.setBackgroundColor(BoardColors.cellColor(cell)); // Цвет клетки
                 }
             }
         }
@@ -389,4 +396,19 @@ public class GameActivity extends AppCompatActivity {
         tvScorePlayer1.setText(player1.getScore());
         tvScorePlayer2.setText(player2.getScore());
     }
+
+    /**
+     * Ошибка загрузки словаря: сообщаем и возвращаемся в меню; при следующем открытии экрана загрузка начнётся заново.
+     */
+    private void showDictionaryError(Throwable error) {
+        if (isFinishing() || isDestroyed()) {
+            return;
+        }
+        new AlertDialog.Builder(this)
+                .setTitle("Словарь не загружен")
+                .setMessage("Не удалось загрузить словарь: " + error.getMessage())
+                .setCancelable(false)
+                .setPositiveButton("OK", (dialog, which) -> finish())
+                .show();
+    }
 }
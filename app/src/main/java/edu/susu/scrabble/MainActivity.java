@@ -2,6 +2,7 @@ package edu.susu.scrabble;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import android.app.AlertDialog;
 import android.content.Intent;
 import android.os.Bundle;
 import android.widget.Button;
@@ -18,7 +19,8 @@ public class MainActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
-        // -- ВАЖНО: инициализируем (подгружаем) словарь, чтобы сделать это один раз при запуске приложения.
+        // -- ВАЖНО: запускаем загрузку словаря при старте приложения (в фоне, UI не блокируется).
+        // Игровые экраны дожидаются готовности через DictionaryManager.whenReady.
         DictionaryManager.getInstance(this);
 
         btnSingleGame = findViewById(R.id.btnSingleGame);
@@ -42,9 +44,20 @@ public class MainActivity extends AppCompatActivity {
             startActivity(intent);
         });
         btnComputer.setOnClickListener(v -> {
-            Intent intent = new Intent(MainActivity.this, AIGameActivity.class);
-            // Можно передавать putExtra, если нужно
-            startActivity(intent);
+            // Сложность AI = время на обдумывание хода
+            AIGameActivity.Difficulty[] levels = AIGameActivity.Difficulty.values();
+            String[] titles = new String[levels.length];
+            for (int i = 0; i < levels.length; i++) {
+                titles[i] = levels[i].title;
+            }
+            new AlertDialog.Builder(MainActivity.this)
+                    .setTitle("Уровень сложности")
+                    .setItems(titles, (dialog, which) -> {
+                        Intent intent = new Intent(MainActivity.this, AIGameActivity.class);
+                        intent.putExtra(AIGameActivity.EXTRA_DIFFICULTY, levels[which].name());
+                        startActivity(intent);
+                    })
+                    .show();
         });
 
         // Переход в AddWordActivity
@@ -1,6 +1,7 @@
 package edu.susu.scrabble;
 
 import android.annotation.SuppressLint;
+import android.app.AlertDialog;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.os.Bundle;
@@ -57,17 +58,14 @@ public class SinglePlayerGameActivity extends AppCompatActivity {
         // 2) Раздаём начальные 7 плиток (если есть)
         givePlayerStartingTiles();
 
-        // 3) Получаем готовый словарь из DictionaryManager
-        Dictionary dict = DictionaryManager.getInstance(this).getDictionary();
+        // 3) Создаём движок; словарь подставим, когда DictionaryManager закончит загрузку
+        engine = new Engine(player, board, null);
 
-        // 4) Создаём движок
-        engine = new Engine(player, board, dict);
-
-        // 5) Создаём кнопки на поле и на стойке
+        // 4) Создаём кнопки на поле и на стойке
         createBoardButtons();
         createRackButtons();
 
-        // 6) Настраиваем кнопки
+        // 5) Настраиваем кнопки
         btnShuffle.setOnClickListener(v -> {
             player.shuffleRack();
             player.organizeRack();
@@ -93,6 +91,16 @@ public class SinglePlayerGameActivity extends AppCompatActivity {
         btnHelp.setOnClickListener(v -> {
             HelpActivity.start(SinglePlayerGameActivity.this);
         });
+
+        // 6) Пока словарь грузится в фоне, ход подтвердить нельзя
+        btnSubmit.setEnabled(false);
+        DictionaryManager.getInstance(this).whenReady(dictionary -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+            engine.dict = dictionary;
+            btnSubmit.setEnabled(true);
+        }, this::showDictionaryError);
     }
 
     /**
@@ -115,7 +123,7 @@ public class SinglePlayerGameActivity extends AppCompatActivity {
                 button.setPadding(0, 0, 0, 0);
 
                 Cell cell = board.cellMatrix[i][j];
-                button.setBackgroundColor(board.getCellColor(cell));
+                button.setBackgroundColor(BoardColors.cellColor(cell));
 
                 // Если есть бонус, показываем
                 if (cell.getBonus() != null) {
@@ -126,7 +134,7 @@ public class SinglePlayerGameActivity extends AppCompatActivity {
 
                 button.setOnClickListener(v -> {
                     if (engine.rackTileSelected != null && cell.getTile() == null) {
-                        if (engine.rackTileSelected.getLetter().equals("-")) {
+                        if (engine.rackTileSelected.isBlank()) {
                             // Blank — показываем диалог выбора буквы
                             ChooseTileDialogFragment dialog =
                                     ChooseTileDialogFragment.newInstance(chosen -> {
@@ -214,7 +222,7 @@ public class SinglePlayerGameActivity extends AppCompatActivity {
                     } else {
                         cellButton.setText(""); // Обычная пустая клетка
                     }
-                    cellButton.setBackgroundColor(board.getCellColor(cell)); // Цвет клетки
+                    cellButton.setBackgroundColor(BoardColors.cellColor(cell)); // Цвет клетки
                 }
             }
         }
@@ -257,4 +265,19 @@ public class SinglePlayerGameActivity extends AppCompatActivity {
             }
         }
     }
+
+    /**
+     * Словарь не загрузился — показываем ошибку и закрываем экран.
+     */
+    private void showDictionaryError(Throwable error) {
+        if (isFinishing() || isDestroyed()) {
+            return;
+        }
+        new AlertDialog.Builder(this)
+                .setTitle("Словарь не загружен")
+                .setMessage("Не удалось загрузить словарь: " + error.getMessage())
+                .setCancelable(false)
+                .setPositiveButton("OK", (dialog, which) -> finish())
+                .show();
+    }
 }
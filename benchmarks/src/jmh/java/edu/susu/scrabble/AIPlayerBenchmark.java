@@ -0,0 +1,59 @@
+package edu.susu.scrabble;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Задержка AIPlayer.findBestMove (полный перебор) на позициях из набора:
+ * от пустой доски до эндшпиля. Стойка фиксирована — та, что сохранена в позиции.
+ * Перед каждым вызовом создаётся новый AIPlayer с этой стойкой (вне замера),
+ * чтобы уже сыгранные им слова не меняли перебор.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AIPlayerBenchmark {
+
+    @Param({"EMPTY", "OPENING", "MIDGAME", "CONGESTED", "ENDGAME"})
+    public Position.Category category;
+
+    @Param({"false", "true"})
+    public boolean gaddag;
+
+    private AIGame game;
+    private Tile[] rack;
+    private AIPlayer player;
+
+    @Setup
+    public void prepare(BenchmarkFixtures.DictionaryState state) {
+        game = new AIGame(state.dictionary, BenchmarkFixtures.position(category));
+        rack = game.current().getRack().clone();
+        if (gaddag) {
+            state.dictionary.getGaddag(); // строится один раз, не в замере
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void newPlayer() {
+        player = new AIPlayer(gaddag);
+        for (Tile tile : rack) {
+            if (tile != null) {
+                player.addTileToRack(tile);
+            }
+        }
+    }
+
+    @Benchmark
+    public AIPlayer.BestMove findBestMove() {
+        return player.findBestMove(game.getBoard(), game.getEngine(), game.getDictionary());
+    }
+}
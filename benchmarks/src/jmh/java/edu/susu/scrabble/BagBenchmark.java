@@ -0,0 +1,39 @@
+package edu.susu.scrabble;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Мешок: копирование полного мешка и выдача всех 100 плиток, как в самоигре
+ * и розыгрышах. Результат — время на одну плитку.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BagBenchmark {
+
+    private static final int TILES = 100;
+
+    private final Bag full = new Bag(BenchmarkFixtures.SEED);
+    private final Bag bag = new Bag(BenchmarkFixtures.SEED);
+    private long seed = BenchmarkFixtures.SEED;
+
+    @Benchmark
+    @OperationsPerInvocation(TILES)
+    public int drawFullBag() {
+        bag.copyFrom(full);
+        bag.setSeed(++seed); // новый порядок плиток на каждый вызов
+        int sum = 0;
+        while (!bag.bagIsEmpty()) {
+            sum += bag.getNextTile().code();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,66 @@
+package edu.susu.scrabble;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Общие данные замеров: словарь из file.txt и позиции из набора positions.bin
+ * (ресурс модуля, собирается PositionHarvester из самоигры с фиксированным seed).
+ */
+public final class BenchmarkFixtures {
+
+    static final long SEED = 1;
+
+    private static List<Position> positions;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Путь к file.txt; задаётся в build.gradle свойством scrabble.words.
+     */
+    static String wordListPath() {
+        return System.getProperty("scrabble.words", "app/src/main/assets/file.txt");
+    }
+
+    /**
+     * Словарь, общий для всех потоков замера.
+     */
+    @State(Scope.Benchmark)
+    public static class DictionaryState {
+        Dictionary dictionary;
+
+        @Setup
+        public void load() throws IOException {
+            dictionary = new Dictionary(wordListPath());
+        }
+    }
+
+    /**
+     * Первая позиция набора вида category.
+     */
+    static synchronized Position position(Position.Category category) {
+        if (positions == null) {
+            try (InputStream in = BenchmarkFixtures.class.getResourceAsStream("positions.bin")) {
+                if (in == null) {
+                    throw new IllegalStateException("Нет ресурса positions.bin");
+                }
+                positions = Position.readAll(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        for (Position position : positions) {
+            if (position.category == category) {
+                return position;
+            }
+        }
+        throw new IllegalStateException("В наборе нет позиции вида " + category);
+    }
+}
@@ -0,0 +1,95 @@
+package edu.susu.scrabble;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Словарь: построение из file.txt и Dictionary.verifyWord для слов,
+ * которые есть в словаре, и для слов, которых нет (строки и char[] в верхнем регистре).
+ */
+@State(Scope.Thread)
+public class DictionaryBenchmark {
+
+    private static final int WORDS = 4096; // степень двойки: индекс по маске
+
+    private final String[] hits = new String[WORDS];
+    private final String[] misses = new String[WORDS];
+    private final char[][] upperHits = new char[WORDS][]; // как буквы плиток на доске
+    private Dictionary dictionary;
+    private int next;
+
+    @Setup
+    public void prepare(BenchmarkFixtures.DictionaryState state) throws IOException {
+        dictionary = state.dictionary;
+        List<String> words = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(BenchmarkFixtures.wordListPath()), StandardCharsets.UTF_8)) {
+            String word = line.trim().toLowerCase();
+            if (LexiconFormat.isValidWord(word)) {
+                words.add(word);
+            }
+        }
+        Random random = new Random(BenchmarkFixtures.SEED);
+        for (int i = 0; i < WORDS; i++) {
+            hits[i] = words.get(random.nextInt(words.size()));
+            upperHits[i] = hits[i].toUpperCase().toCharArray();
+            // Промах — слово словаря с одной заменённой буквой, которого нет в словаре
+            String miss;
+            do {
+                char[] letters = words.get(random.nextInt(words.size())).toCharArray();
+                letters[random.nextInt(letters.length)] = (char) ('a' + random.nextInt(26));
+                miss = new String(letters);
+            } while (dictionary.verifyWord(miss));
+            misses[i] = miss;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Dictionary buildFromWordList() throws IOException {
+        return new Dictionary(BenchmarkFixtures.wordListPath());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean verifyHit() {
+        next = (next + 1) & (WORDS - 1);
+        return dictionary.verifyWord(hits[next]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean verifyHitChars() {
+        next = (next + 1) & (WORDS - 1);
+        char[] word = upperHits[next];
+        return dictionary.verifyWord(word, 0, word.length);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean verifyMiss() {
+        next = (next + 1) & (WORDS - 1);
+        return dictionary.verifyWord(misses[next]);
+    }
+}
@@ -0,0 +1,72 @@
+package edu.susu.scrabble;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Engine.checkBoard на позициях из набора: от пустой доски до эндшпиля.
+ * checkBoard засчитывает ход и меняет доску, поэтому каждая партия годится
+ * для одного вызова: перед итерацией (вне замера) готовится GAMES копий позиции
+ * с выложенным ходом AI, а одна итерация — один вызов, проверяющий их все.
+ * Setup на каждый вызов (Level.Invocation) для микросекундного замера
+ * сам искажал бы время.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+public class EngineBenchmark {
+
+    private static final int GAMES = 256;
+
+    @Param({"EMPTY", "OPENING", "MIDGAME", "CONGESTED", "ENDGAME"})
+    public Position.Category category;
+
+    private Dictionary dictionary;
+    private Position position;
+    private AIPlayer.BestMove move;
+    private final AIGame[] games = new AIGame[GAMES];
+
+    @Setup
+    public void chooseMove(BenchmarkFixtures.DictionaryState state) {
+        dictionary = state.dictionary;
+        position = BenchmarkFixtures.position(category);
+        move = new AIGame(dictionary, position).think();
+        if (move == null) {
+            throw new IllegalStateException("В позиции " + position.name + " AI пасует");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void placeMoves() {
+        for (int i = 0; i < GAMES; i++) {
+            games[i] = new AIGame(dictionary, position);
+            games[i].place(move);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int checkBoard() {
+        int valid = 0;
+        for (AIGame game : games) {
+            if (game.getEngine().checkBoard()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,215 @@
+package edu.susu.scrabble;
+
+/**
+ * Партия двух AI без интерфейса: доска, мешок, движок и очередь хода.
+ * Мешок вынимает плитки по seed, так что партия с тем же seed и теми же
+ * ходами воспроизводится плитка в плитку; партию можно начать и с сохранённой
+ * позиции (Position). На ней работают самоигра (SelfPlay)
+ * и замеры производительности; ходы выкладываются так же, как в
+ * AIGameActivity.placeBestMoveOnBoard, только пустая плитка уходит со стойки.
+ *
+ * Ход делится на два шага: place выкладывает плитки, endTurn проверяет ход
+ * движком, добирает плитки и передаёт ход; play делает оба шага.
+ * Когда партия заканчивается, endTurn подводит итог по стойкам (settleRacks).
+ */
+public class AIGame {
+
+    public static final int MAX_TURNS = 100; // страховка от бесконечной партии
+
+    private final Dictionary dictionary;
+    private final Board board = new Board();
+    private final Bag bag;
+    private final AIPlayer[] players = { new AIPlayer(), new AIPlayer() };
+    private final Engine engine;
+    private int turn;
+    private int passes;
+    private boolean settled; // итог по стойкам подведён
+
+    public AIGame(Dictionary dictionary, long seed) {
+        this.dictionary = dictionary;
+        this.bag = new Bag(seed);
+        for (AIPlayer player : players) {
+            fillRack(player);
+        }
+        engine = new Engine(players[0], board, dictionary);
+    }
+
+    /**
+     * Партия, продолженная с позиции из набора. Незасчитанные плитки позиции
+     * становятся выложенным ходом текущего игрока (его проверит endTurn).
+     */
+    public AIGame(Dictionary dictionary, Position position) {
+        this.dictionary = dictionary;
+        this.bag = position.newBag();
+        position.applyTo(board);
+        position.applyTo(players[0], 0);
+        position.applyTo(players[1], 1);
+        turn = position.getTurn();
+        engine = new Engine(current(), board, dictionary);
+        engine.initialMove = position.isInitialMove();
+        // Перекрёстные проверки, которые в партии поддерживал бы Engine.checkBoard
+        CrossCheckIndex crossChecks = new CrossCheckIndex(dictionary.getLexicon());
+        crossChecks.rebuild(board);
+        board.setCrossChecks(crossChecks);
+        engine.unseen.reset(board);
+        for (int cell : position.pendingCells()) {
+            Cell c = board.cellMatrix[cell / BitBoard.SIZE][cell % BitBoard.SIZE];
+            engine.recentlyPlayedCellStack.push(c);
+            engine.recentlyPlayedTileStack.push(c.getTile());
+        }
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public Bag getBag() {
+        return bag;
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    public AIPlayer getPlayer(int index) {
+        return players[index];
+    }
+
+    /**
+     * Номер игрока (0 или 1), который сейчас ходит.
+     */
+    public int currentIndex() {
+        return turn & 1;
+    }
+
+    public AIPlayer current() {
+        return players[currentIndex()];
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Партия закончена: два паса подряд, у игрока кончились плитки при пустом мешке
+     * или сыграно MAX_TURNS ходов.
+     */
+    public boolean isOver() {
+        if (passes >= 2 || turn >= MAX_TURNS) {
+            return true;
+        }
+        return bag.bagIsEmpty() && (players[0].getRackSize() == 0 || players[1].getRackSize() == 0);
+    }
+
+    /**
+     * Лучший ход текущего игрока (null — ходить нечем).
+     */
+    public AIPlayer.BestMove think() {
+        engine.player = current();
+        return current().findBestMove(board, engine, dictionary);
+    }
+
+    /**
+     * Ход целиком: place и endTurn. null — пас.
+     * @return очки за ход
+     */
+    public int play(AIPlayer.BestMove move) {
+        if (move != null) {
+            place(move);
+        }
+        return endTurn();
+    }
+
+    /**
+     * Выкладывает плитки хода со стойки текущего игрока на доску (в стеки движка),
+     * не проверяя и не засчитывая ход.
+     */
+    public void place(AIPlayer.BestMove move) {
+        place(board, engine, current(), move);
+    }
+
+    /**
+     * Выкладывает плитки хода move со стойки player на board (в стеки engine),
+     * не проверяя и не засчитывая ход; буквы, которых нет на стойке, — пустые плитки.
+     */
+    static void place(Board board, Engine engine, AIPlayer player, AIPlayer.BestMove move) {
+        engine.player = player;
+        engine.recentlyPlayedCellStack.clear();
+        engine.recentlyPlayedTileStack.clear();
+        for (int i = 0; i < move.word.length(); i++) {
+            Cell cell = move.isHorizontal
+                    ? board.cellMatrix[move.startRow][move.startCol + i]
+                    : board.cellMatrix[move.startRow + i][move.startCol];
+            if (cell.getTile() != null) {
+                continue;
+            }
+            char needed = move.word.charAt(i);
+            int rackIndex = player.findTileInRack(needed);
+            Tile tile;
+            if (rackIndex >= 0) {
+                tile = player.getAndRemoveFromRackAt(rackIndex);
+            } else {
+                player.getAndRemoveFromRackAt(player.findTileInRack('-'));
+                tile = Tile.blankAs(needed);
+            }
+            cell.setTile(tile);
+            engine.recentlyPlayedCellStack.push(cell);
+            engine.recentlyPlayedTileStack.push(tile);
+        }
+    }
+
+    /**
+     * Завершает ход: выложенные плитки проверяет Engine.checkBoard, игрок добирает
+     * плитки из мешка, ход переходит к сопернику. Без выложенных плиток — пас.
+     * @return очки за ход
+     */
+    public int endTurn() {
+        int score = 0;
+        if (engine.recentlyPlayedCellStack.isEmpty()) {
+            passes++;
+        } else {
+            engine.player = current();
+            if (!engine.checkBoard()) {
+                throw new IllegalStateException("Движок отклонил ход AI на ходу " + turn);
+            }
+            score = engine.analyzer.getScore();
+            passes = 0;
+            fillRack(current());
+        }
+        turn++;
+        if (!settled && isOver()) {
+            settleRacks(players[0], players[1]);
+            settled = true;
+        }
+        return score;
+    }
+
+    /**
+     * Итог партии по стойкам (обычные правила): каждый игрок теряет очки плиток,
+     * оставшихся на стойке, а тот, кто выложил все плитки, получает ещё и очки
+     * плиток соперника. После пасов плитки есть у обоих, и оба только теряют.
+     * Так же конец партии считают AIGameActivity и EndgameSolver.
+     */
+    public static void settleRacks(Player first, Player second) {
+        int firstPoints = first.getRackPoints();
+        int secondPoints = second.getRackPoints();
+        first.addScore(-firstPoints);
+        second.addScore(-secondPoints);
+        if (first.getRackSize() == 0) {
+            first.addScore(secondPoints);
+        }
+        if (second.getRackSize() == 0) {
+            second.addScore(firstPoints);
+        }
+    }
+
+    private void fillRack(Player player) {
+        while (!bag.bagIsEmpty() && player.getRackSize() < 7) {
+            player.addTileToRack(bag.getNextTile());
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package edu.susu.scrabble;
+
+import java.util.*;
+
+public class AIPlayer extends Player {
+
+    /**
+     * Бюджет времени для findBestMove: без ограничения.
+     */
+    public static final long NO_TIME_LIMIT = 0;
+
+    /**
+     * Бюджет симуляции, если findBestMove вызван без ограничения времени.
+     */
+    public static final long DEFAULT_SIMULATION_MILLIS = 1000;
+
+    private final Set<String> usedWords = new HashSet<>(); // слова, уже сыгранные этим игроком
+
+    // Грубая оценка перспективности хода без подсчёта очков: больше плиток со стойки, затем длиннее слово.
+    private static final Comparator<MoveGenerator.Move> MOST_TILES_FIRST = (a, b) -> {
+        if (a.tilesPlaced != b.tilesPlaced) {
+            return b.tilesPlaced - a.tilesPlaced;
+        }
+        return b.word.length() - a.word.length();
+    };
+
+    private MoveGenerator moveGenerator; // создаётся лениво под текущий словарь
+    private boolean useGaddag; // генерация ходов по GADDAG: быстрее, но требует больше памяти
+    private final Placement placement = new Placement(); // переиспользуется для оценки кандидатов
+    private volatile boolean lastSearchComplete = true; // последний поиск перебрал все ходы
+    private boolean parallel; // искать ход параллельно по строкам и столбцам (ParallelMoveSearch)
+    private ParallelMoveSearch parallelSearch;
+    private boolean simulation; // выбирать ход симуляцией (Simulator)
+    private Simulator simulator;
+    private volatile Simulator.Result lastSimulation;
+    private EndgameSolver endgameSolver;
+    private volatile EndgameSolver.Solution lastEndgame;
+    private LeaveTable leaves = LeaveTable.empty(); // ценность плиток, оставшихся на стойке после хода
+    private final int[] rackCounts = new int[LeaveTable.SYMBOLS];
+    private final int[] leaveCounts = new int[LeaveTable.SYMBOLS];
+
+    public AIPlayer() {
+        this(false);
+    }
+
+    /**
+     * @param useGaddag генерировать ходы по GADDAG (для мощных устройств);
+     *                  GADDAG строится при первом ходе и занимает ~10 МБ
+     */
+    public AIPlayer(boolean useGaddag) {
+        super();
+        this.useGaddag = useGaddag;
+    }
+
+    public boolean isUsingGaddag() {
+        return useGaddag;
+    }
+
+    public void setUseGaddag(boolean useGaddag) {
+        this.useGaddag = useGaddag;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Включает параллельный поиск: строки и столбцы доски обрабатываются
+     * отдельными задачами на всех ядрах (имеет смысл на многоядерных устройствах).
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public boolean isSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Включает выбор хода симуляцией: несколько лучших ходов разыгрываются
+     * на пару ходов вперёд со случайной стойкой соперника (см. Simulator).
+     * Всё отведённое время уходит на розыгрыши.
+     */
+    public void setSimulation(boolean simulation) {
+        this.simulation = simulation;
+    }
+
+    /**
+     * Итог последней симуляции (кандидаты, розыгрыши в секунду) или null.
+     */
+    public Simulator.Result getLastSimulation() {
+        return lastSimulation;
+    }
+
+    /**
+     * Итог последнего перебора эндшпиля (findEndgameMove) или null.
+     */
+    public EndgameSolver.Solution getLastEndgame() {
+        return lastEndgame;
+    }
+
+    public LeaveTable getLeaveTable() {
+        return leaves;
+    }
+
+    /**
+     * Таблица ценности остатков: ходы ранжируются по очкам плюс ценности
+     * плиток, которые останутся на стойке. LeaveTable.empty() — только по очкам.
+     */
+    public void setLeaveTable(LeaveTable leaves) {
+        this.leaves = leaves;
+    }
+
+    public static class BestMove {
+        public String word;
+        public int startRow;
+        public int startCol;
+        public boolean isHorizontal;
+        public int score;    // очки за ход
+        public float equity; // очки плюс ценность остатка — по ней выбирается ход
+    }
+
+    /**
+     * Главный метод: перебираем ходы, которые выдаёт MoveGenerator
+     * (только допустимые расстановки от якорных клеток), и выбираем
+     * ход с наибольшей суммой очков и ценности остатка (LeaveTable).
+     * Для первого хода (пустой центр) генератор сам требует покрыть клетку (7,7).
+     * Очки считает Engine.scoreMove — без пробной укладки плиток на доску.
+     * Поиск полный, без ограничения по времени.
+     */
+    public BestMove findBestMove(Board board, Engine engine, Dictionary dictionary) {
+        return findBestMove(board, engine, dictionary, NO_TIME_LIMIT);
+    }
+
+    /**
+     * Поиск с бюджетом времени budgetMillis (NO_TIME_LIMIT — без ограничения).
+     * Генератор останавливается по времени, а найденные ходы оцениваются
+     * в порядке «перспективности» (больше плиток со стойки — раньше), так что
+     * при нехватке времени возвращается лучший ход из уже просмотренных
+     * (null, если среди них нет хода с очками).
+     * Успел ли поиск перебрать всё — см. wasLastSearchComplete().
+     */
+    public BestMove findBestMove(Board board, Engine engine, Dictionary dictionary, long budgetMillis) {
+        boolean limited = budgetMillis != NO_TIME_LIMIT;
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+
+        if (simulation) {
+            long budget = limited ? budgetMillis : DEFAULT_SIMULATION_MILLIS;
+            return findBestMoveBySimulation(board, engine, dictionary, System.nanoTime() + budget * 1_000_000L);
+        }
+        if (parallel) {
+            return findBestMoveInParallel(board, engine, dictionary, limited, deadline);
+        }
+
+        if (moveGenerator == null || moveGenerator.getDictionary() != dictionary
+                || moveGenerator.usesGaddag() != useGaddag) {
+            moveGenerator = new MoveGenerator(dictionary, useGaddag);
+        }
+
+        List<MoveGenerator.Move> moves = limited
+                ? moveGenerator.generateMoves(board, getRack(), deadline)
+                : moveGenerator.generateMoves(board, getRack());
+        lastSearchComplete = moveGenerator.isComplete();
+        if (moves.isEmpty()) {
+            return null;
+        }
+        if (limited) {
+            Collections.sort(moves, MOST_TILES_FIRST);
+        }
+
+        BestMove best = null;
+        countRack(getRack(), rackCounts);
+
+        for (int i = 0; i < moves.size(); i++) {
+            MoveGenerator.Move move = moves.get(i);
+
+            // Поиск идёт в фоновом потоке и может быть отменён (AIGameActivity.onDestroy)
+            if (Thread.currentThread().isInterrupted()) {
+                lastSearchComplete = false;
+                break;
+            }
+            // Время вышло: отдаём лучший из уже оценённых ходов или null — пас
+            // (время проверяем не на каждом ходе)
+            if (limited && (i & 63) == 0 && i > 0 && System.nanoTime() - deadline > 0) {
+                lastSearchComplete = false;
+                break;
+            }
+
+            // Чтобы не повторять одно и то же слово
+            if (usedWords.contains(move.word)) {
+                continue;
+            }
+            // Вариант с пустой плиткой там, где можно выложить настоящую, не играется
+            if (!isPlayableVariant(board, move, rackCounts, leaveCounts)) {
+                continue;
+            }
+
+            placement.set(move.startRow, move.startCol, move.isHorizontal, move.word);
+            fillTilePoints(board, getRack(), placement);
+            int sc = engine.scoreMove(board, placement);
+            if (sc <= 0) {
+                continue;
+            }
+            float equity = sc + leaveValue(leaves, board, move, rackCounts, leaveCounts);
+            if (best == null || equity > best.equity) {
+                best = new BestMove();
+                best.word = move.word;
+                best.startRow = move.startRow;
+                best.startCol = move.startCol;
+                best.isHorizontal = move.isHorizontal;
+                best.score = sc;
+                best.equity = equity;
+            }
+        }
+
+        if (best != null && best.score > 0 && !Thread.currentThread().isInterrupted()) {
+            usedWords.add(best.word);
+        }
+
+        return best;
+    }
+
+    private BestMove findBestMoveInParallel(Board board, Engine engine, Dictionary dictionary,
+                                            boolean limited, long deadline) {
+        if (parallelSearch == null || parallelSearch.getDictionary() != dictionary
+                || parallelSearch.usesGaddag() != useGaddag) {
+            parallelSearch = new ParallelMoveSearch(dictionary, useGaddag);
+        }
+        parallelSearch.setLeaveTable(leaves);
+        List<BestMove> top = parallelSearch.findTopMoves(board, engine, getRack(), usedWords, 1, limited, deadline);
+        lastSearchComplete = parallelSearch.wasLastSearchComplete();
+
+        BestMove best = top.isEmpty() ? null : top.get(0);
+        if (best != null && !Thread.currentThread().isInterrupted()) {
+            usedWords.add(best.word);
+        }
+        return best;
+    }
+
+    private BestMove findBestMoveBySimulation(Board board, Engine engine, Dictionary dictionary, long deadline) {
+        if (simulator == null || simulator.getDictionary() != dictionary || simulator.usesGaddag() != useGaddag) {
+            simulator = new Simulator(dictionary, useGaddag);
+        }
+        simulator.setLeaveTable(leaves);
+        Simulator.Result result = simulator.simulate(board, engine, getRack(), usedWords, deadline);
+        lastSimulation = result;
+        lastSearchComplete = result.searchComplete;
+
+        BestMove best = result.best();
+        if (best != null && !Thread.currentThread().isInterrupted()) {
+            usedWords.add(best.word);
+        }
+        return best;
+    }
+
+    /**
+     * Ход, когда мешок пуст: стойка соперника opponentRack известна, и ход
+     * выбирается перебором до конца партии (EndgameSolver) с бюджетом времени
+     * budgetMillis (NO_TIME_LIMIT — DEFAULT_SIMULATION_MILLIS). null — пас.
+     */
+    public BestMove findEndgameMove(Board board, Engine engine, Dictionary dictionary, Tile[] opponentRack,
+                                    long budgetMillis) {
+        if (endgameSolver == null || endgameSolver.getDictionary() != dictionary
+                || endgameSolver.usesGaddag() != useGaddag) {
+            endgameSolver = new EndgameSolver(dictionary, useGaddag);
+        }
+        long budget = budgetMillis != NO_TIME_LIMIT ? budgetMillis : DEFAULT_SIMULATION_MILLIS;
+        EndgameSolver.Solution solution = endgameSolver.solve(board, engine, getRack(), opponentRack, usedWords,
+                System.nanoTime() + budget * 1_000_000L);
+        lastEndgame = solution;
+        lastSearchComplete = solution.exact;
+
+        BestMove best = solution.move;
+        if (best != null && !Thread.currentThread().isInterrupted()) {
+            usedWords.add(best.word);
+        }
+        return best;
+    }
+
+    /**
+     * false, если последний findBestMove был прерван (по времени или отменой)
+     * и ход выбран не из всех возможных.
+     */
+    public boolean wasLastSearchComplete() {
+        return lastSearchComplete;
+    }
+
+    /**
+     * Заполняет очки новых плиток хода так же, как их выложит placeBestMoveOnBoard:
+     * плитка с нужной буквой из стойки, а если такой нет (пустая плитка) — 0 очков.
+     */
+    static void fillTilePoints(Board board, Tile[] rack, Placement placement) {
+        int used = 0; // биты занятых мест стойки
+        for (int i = 0; i < placement.length; i++) {
+            int row = placement.isHorizontal ? placement.startRow : placement.startRow + i;
+            int col = placement.isHorizontal ? placement.startCol + i : placement.startCol;
+            if (board.getBits().isOccupied(row, col)) {
+                continue;
+            }
+            int tilePoints = 0;
+            int code = placement.letters[i] - 'a';
+            for (int k = 0; k < rack.length; k++) {
+                Tile t = rack[k];
+                if ((used & (1 << k)) == 0 && t != null && !t.isBlank() && t.code() == code) {
+                    used |= 1 << k;
+                    tilePoints = t.getPoints();
+                    break;
+                }
+            }
+            placement.setPoints(i, tilePoints);
+        }
+    }
+
+    /**
+     * Число плиток стойки по символам LeaveTable (буквы и пустая плитка).
+     */
+    static void countRack(Tile[] rack, int[] counts) {
+        Arrays.fill(counts, 0);
+        for (Tile t : rack) {
+            if (t != null) {
+                counts[LeaveTable.symbolOf(t)]++;
+            }
+        }
+    }
+
+    /**
+     * Генератор выдаёт ход отдельно для каждого варианта пустых плиток (blankMask),
+     * а выкладываются плитки всегда одинаково: сначала настоящая плитка с нужной
+     * буквой, пустая — только если такой нет (fillTilePoints, findTileInRack).
+     * true, если blankMask хода совпадает с этой раскладкой; остальные варианты —
+     * дубликаты того же хода с неверными очками и остатком. scratch — рабочий массив.
+     */
+    static boolean isPlayableVariant(Board board, MoveGenerator.Move move, int[] rackCounts, int[] scratch) {
+        if (move.blankMask == 0 && rackCounts[LeaveTable.BLANK] == 0) {
+            return true;
+        }
+        System.arraycopy(rackCounts, 0, scratch, 0, LeaveTable.SYMBOLS);
+        BitBoard bits = board.getBits();
+        for (int i = 0; i < move.word.length(); i++) {
+            int row = move.isHorizontal ? move.startRow : move.startRow + i;
+            int col = move.isHorizontal ? move.startCol + i : move.startCol;
+            if (bits.isOccupied(row, col)) {
+                continue;
+            }
+            int letter = move.word.charAt(i) - 'a';
+            boolean blank = (move.blankMask & (1 << i)) != 0;
+            if (scratch[letter] > 0) {
+                if (blank) {
+                    return false;
+                }
+                scratch[letter]--;
+            } else if (!blank) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ценность остатка после хода move: из rackCounts вычитаются выложенные плитки
+     * (буквы, помеченные в blankMask, — пустые плитки). scratch — рабочий массив.
+     */
+    static float leaveValue(LeaveTable leaves, Board board, MoveGenerator.Move move, int[] rackCounts, int[] scratch) {
+        System.arraycopy(rackCounts, 0, scratch, 0, LeaveTable.SYMBOLS);
+        BitBoard bits = board.getBits();
+        for (int i = 0; i < move.word.length(); i++) {
+            int row = move.isHorizontal ? move.startRow : move.startRow + i;
+            int col = move.isHorizontal ? move.startCol + i : move.startCol;
+            if (bits.isOccupied(row, col)) {
+                continue;
+            }
+            int symbol = (move.blankMask & (1 << i)) != 0 ? LeaveTable.BLANK : move.word.charAt(i) - 'a';
+            if (scratch[symbol] > 0) {
+                scratch[symbol]--;
+            }
+        }
+        return leaves.value(scratch);
+    }
+
+    /**
+     * Вспомогательный метод: найти индекс плитки c (буква) в rack
+     * (если в rack есть Tile с такой буквой); '-' — пустая плитка.
+     */
+    public int findTileInRack(char letter) {
+        Tile wanted = Tile.of(letter);
+        for (int i = 0; i < 7; i++) {
+            if (getRack()[i] == wanted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
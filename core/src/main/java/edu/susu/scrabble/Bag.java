@@ -0,0 +1,159 @@
+package edu.susu.scrabble;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Класс Bag представляет мешок для хранения и работы с набором буквенных плиток (tiles).
+// Мешок хранит не список плиток, а число плиток каждой буквы: плитка вынимается
+// за O(1) (проход по 27 счётчикам), а копия мешка — это копия массива и состояния генератора.
+public class Bag {
+	private final int[] counts = new int[Tile.BLANK + 1]; // Число плиток по коду буквы, Tile.BLANK — пустые.
+	private int size; // Всего плиток в мешке.
+	private long state; // Состояние генератора SplitMix64: одинаковый seed — одинаковые плитки.
+	public static Tile swappedBlankTile; // Статическая переменная для хранения замененной пустой плитки.
+
+	// Число плиток каждой буквы A..Z и пустых (индекс Tile.BLANK), см. populateBag.
+	static final int[] COUNTS = {
+		9, 2, 2, 4, 12, 2, 3, 2, 9, 1, 1, 4, 2, 6, 8, 2, 1, 6, 4, 6, 4, 2, 2, 1, 2, 1, 2
+	};
+
+	// Конструктор: полный мешок со случайным seed.
+	public Bag() {
+		this(new Random().nextLong());
+	}
+
+	// Полный мешок с заданным seed: при одинаковом seed плитки вынимаются в одном порядке.
+	public Bag(long seed) {
+		this.state = seed;
+		populateBag(); // Заполняем мешок плитками с учетом их количества и очков.
+	}
+
+	// Мешок с заданными плитками (восстановление позиции, см. Position); плитки вынимаются в порядке seed.
+	public Bag(List<Tile> contents, long seed) {
+		this.state = seed;
+		for (Tile tile : contents) {
+			returnTile(tile);
+		}
+	}
+
+	private Bag(Bag other) {
+		copyFrom(other);
+	}
+
+	// Копия мешка: вынимает те же плитки в том же порядке, что и этот мешок.
+	public Bag copy() {
+		return new Bag(this);
+	}
+
+	// Копия мешка с другим seed (для независимых розыгрышей одной позиции).
+	public Bag copy(long seed) {
+		Bag bag = new Bag(this);
+		bag.setSeed(seed);
+		return bag;
+	}
+
+	// Задаёт seed для следующих плиток, содержимое мешка не меняется.
+	public void setSeed(long seed) {
+		state = seed;
+	}
+
+	// Заменяет содержимое мешка: counts[code] плиток каждой буквы (например, невидимые плитки, см. UnseenTiles).
+	public void fill(int[] counts) {
+		size = 0;
+		for (int code = 0; code < this.counts.length; code++) {
+			this.counts[code] = counts[code];
+			size += counts[code];
+		}
+	}
+
+	// Делает этот мешок копией other без создания объектов.
+	public void copyFrom(Bag other) {
+		System.arraycopy(other.counts, 0, counts, 0, counts.length);
+		size = other.size;
+		state = other.state;
+	}
+
+	// Число плиток в мешке.
+	public int size() {
+		return size;
+	}
+
+	// Число плиток с кодом буквы code (Tile.BLANK — пустые).
+	public int count(int code) {
+		return counts[code];
+	}
+
+	// Содержимое мешка по порядку букв (A..Z, затем пустые плитки).
+	public List<Tile> contents() {
+		List<Tile> tiles = new ArrayList<>(size);
+		for (int code = 0; code < counts.length; code++) {
+			for (int i = 0; i < counts[code]; i++) {
+				tiles.add(Tile.ofCode(code));
+			}
+		}
+		return tiles;
+	}
+
+	// Метод для получения следующей плитки из мешка: случайная плитка из оставшихся.
+	public Tile getNextTile() {
+		if (size == 0) {
+			throw new IllegalStateException("Мешок пуст");
+		}
+		int index = nextInt(size);
+		int code = 0;
+		while (index >= counts[code]) {
+			index -= counts[code];
+			code++;
+		}
+		counts[code]--;
+		size--;
+		return Tile.ofCode(code);
+	}
+
+	// Возвращает плитку в мешок (обмен, розыгрыш за соперника); пустая плитка возвращается без буквы.
+	public void returnTile(Tile tile) {
+		counts[tile.isBlank() ? Tile.BLANK : tile.code()]++;
+		size++;
+	}
+
+	// Метод для проверки, пуст ли мешок.
+	public boolean bagIsEmpty() {
+		return size < 1; // Если в мешке меньше 1 плитки, возвращаем true.
+	}
+
+	/*
+    Метод для заполнения мешка плитками с учетом правил Scrabble:
+    - 0 очков: пустая плитка (Blank) x2
+    - 1 очко: E ×12, A ×9, I ×9, O ×8, N ×6, R ×6, T ×6, L ×4, S ×4, U ×4
+    - 2 очка: D ×4, G ×3
+    - 3 очка: B ×2, C ×2, M ×2, P ×2
+    - 4 очка: F ×2, H ×2, V ×2, W ×2, Y ×2
+    - 5 очков: K ×1
+    - 8 очков: J ×1, X ×1
+    - 10 очков: Q ×1, Z ×1
+    */
+	public void populateBag() {
+		System.arraycopy(COUNTS, 0, counts, 0, counts.length);
+		size = 0;
+		for (int count : COUNTS) {
+			size += count;
+		}
+	}
+
+	// Случайное число 0..bound-1 (SplitMix64, затем умножение вместо деления с остатком).
+	private int nextInt(int bound) {
+		long z = state += 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		z ^= z >>> 31;
+		return (int) (((z >>> 32) * bound) >>> 32);
+	}
+
+	// Пустая плитка, выложенная как выбранная буква (0 очков); для не-буквы ничего не меняется.
+	public static void swapBlankTile(char chosenLetter) {
+		if (Tile.codeOf(chosenLetter) >= 0) {
+			swappedBlankTile = Tile.blankAs(chosenLetter);
+		}
+	}
+}
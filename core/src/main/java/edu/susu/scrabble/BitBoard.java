@@ -0,0 +1,196 @@
+package edu.susu.scrabble;
+
+/**
+ * Упакованное представление доски рядом с графом клеток (Cell).
+ * Занятость хранится битовыми масками: по маске на строку (бит c — клетка (r, c))
+ * и транспонированная копия по столбцам (бит r — клетка (r, c)), чтобы
+ * вертикальные линии обрабатывались так же, как горизонтальные.
+ * Буквы — массив байт (строчная буква, 0 — пусто), тоже в двух раскладках.
+ * Синхронизируется из Cell.setTile; напрямую не изменяется.
+ * Отдельные маски отмечают «зафиксированные» плитки — выложенные принятыми
+ * ходами (Board.commit), в отличие от плиток текущего, ещё не проверенного хода.
+ *
+ * Через маски границы слова, якоря и связность считаются несколькими
+ * битовыми операциями вместо обхода соседей по ссылкам.
+ */
+public class BitBoard {
+
+    public static final int SIZE = 15;
+    public static final int FULL = (1 << SIZE) - 1; // все клетки линии
+
+    private final int[] rows = new int[SIZE];
+    private final int[] cols = new int[SIZE];
+    private final byte[] letters = new byte[SIZE * SIZE];           // индекс r * SIZE + c
+    private final byte[] transposedLetters = new byte[SIZE * SIZE]; // индекс c * SIZE + r
+    private final int[] committedRows = new int[SIZE];
+    private final int[] committedCols = new int[SIZE];
+    private int tileCount;
+    private int committedCount;
+    private int version; // увеличивается при каждом изменении клетки
+
+    // Вызывается из Cell.setTile.
+    void set(int row, int col, Tile tile) {
+        version++;
+        int bit = 1 << col;
+        boolean wasOccupied = (rows[row] & bit) != 0;
+        byte letter = 0;
+        if (tile == null) {
+            rows[row] &= ~bit;
+            cols[col] &= ~(1 << row);
+            if (wasOccupied) {
+                tileCount--;
+            }
+            uncommit(row, col);
+        } else {
+            rows[row] |= bit;
+            cols[col] |= 1 << row;
+            if (!wasOccupied) {
+                tileCount++;
+            }
+            letter = (byte) tile.letterChar();
+        }
+        letters[row * SIZE + col] = letter;
+        transposedLetters[col * SIZE + row] = letter;
+    }
+
+    // Делает маски копией other (Board.copyFrom); счётчик изменений тоже копируется,
+    // чтобы скопированный CrossCheckIndex остался действительным.
+    void copyFrom(BitBoard other) {
+        System.arraycopy(other.rows, 0, rows, 0, SIZE);
+        System.arraycopy(other.cols, 0, cols, 0, SIZE);
+        System.arraycopy(other.letters, 0, letters, 0, letters.length);
+        System.arraycopy(other.transposedLetters, 0, transposedLetters, 0, transposedLetters.length);
+        System.arraycopy(other.committedRows, 0, committedRows, 0, SIZE);
+        System.arraycopy(other.committedCols, 0, committedCols, 0, SIZE);
+        tileCount = other.tileCount;
+        committedCount = other.committedCount;
+        version = other.version;
+    }
+
+    // Отмечает плитку в клетке как выложенную принятым ходом.
+    void commit(int row, int col) {
+        if (!isCommitted(row, col)) {
+            committedRows[row] |= 1 << col;
+            committedCols[col] |= 1 << row;
+            committedCount++;
+        }
+    }
+
+    private void uncommit(int row, int col) {
+        if (isCommitted(row, col)) {
+            committedRows[row] &= ~(1 << col);
+            committedCols[col] &= ~(1 << row);
+            committedCount--;
+        }
+    }
+
+    public boolean isCommitted(int row, int col) {
+        return (committedRows[row] & (1 << col)) != 0;
+    }
+
+    /**
+     * Маска зафиксированных плиток линии: строка line при horizontal, иначе столбец line.
+     */
+    public int committedLineMask(boolean horizontal, int line) {
+        return horizontal ? committedRows[line] : committedCols[line];
+    }
+
+    public int committedCount() {
+        return committedCount;
+    }
+
+    public boolean isOccupied(int row, int col) {
+        return (rows[row] & (1 << col)) != 0;
+    }
+
+    /**
+     * Маска занятых клеток строки: бит c — клетка (row, c).
+     */
+    public int rowMask(int row) {
+        return rows[row];
+    }
+
+    /**
+     * Маска занятых клеток столбца: бит r — клетка (r, col).
+     */
+    public int colMask(int col) {
+        return cols[col];
+    }
+
+    /**
+     * Маска линии в заданном направлении: строка line при horizontal, иначе столбец line.
+     */
+    public int lineMask(boolean horizontal, int line) {
+        return horizontal ? rows[line] : cols[line];
+    }
+
+    /**
+     * Буква в клетке (строчная) или 0, если клетка пуста.
+     */
+    public char letterAt(int row, int col) {
+        return (char) letters[row * SIZE + col];
+    }
+
+    /**
+     * Буква в клетке pos линии line (строка при horizontal, иначе столбец) или 0.
+     * Для столбцов читается транспонированная копия — подряд идущие байты.
+     */
+    public char letterInLine(boolean horizontal, int line, int pos) {
+        return (char) (horizontal ? letters[line * SIZE + pos] : transposedLetters[line * SIZE + pos]);
+    }
+
+    /**
+     * Счётчик изменений: по нему кэши (CrossCheckIndex) проверяют, не устарели ли они.
+     */
+    public int version() {
+        return version;
+    }
+
+    public int tileCount() {
+        return tileCount;
+    }
+
+    public boolean isEmpty() {
+        return tileCount == 0;
+    }
+
+    /**
+     * Якоря строки: пустые клетки, у которых занят сосед слева/справа или сверху/снизу.
+     */
+    public int anchorMask(int row) {
+        int occupied = rows[row];
+        int neighbours = (occupied << 1) | (occupied >>> 1);
+        if (row > 0) {
+            neighbours |= rows[row - 1];
+        }
+        if (row < SIZE - 1) {
+            neighbours |= rows[row + 1];
+        }
+        return neighbours & ~occupied & FULL;
+    }
+
+    /**
+     * Начало непрерывного отрезка занятых клеток маски mask, проходящего через pos
+     * (клетка pos считается занятой).
+     */
+    public static int runStart(int mask, int pos) {
+        int emptyBelow = ~mask & ((1 << pos) - 1);
+        return emptyBelow == 0 ? 0 : 32 - Integer.numberOfLeadingZeros(emptyBelow);
+    }
+
+    /**
+     * Конец (включительно) непрерывного отрезка занятых клеток маски mask,
+     * проходящего через pos (клетка pos считается занятой).
+     */
+    public static int runEnd(int mask, int pos) {
+        int emptyAbove = ~(mask & FULL) & (-1 << (pos + 1));
+        return Integer.numberOfTrailingZeros(emptyAbove) - 1;
+    }
+
+    /**
+     * Маска клеток с from по to включительно.
+     */
+    public static int span(int from, int to) {
+        return (FULL >>> (SIZE - 1 - to)) & ~((1 << from) - 1);
+    }
+}
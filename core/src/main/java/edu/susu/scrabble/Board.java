@@ -0,0 +1,156 @@
+package edu.susu.scrabble;
+
+// Класс Board создаёт игровую доску Scrabble и задаёт её функциональность.
+public class Board {
+    Cell[][] cellMatrix; // Матрица ячеек, представляющая доску.
+    final BitBoard bits = new BitBoard(); // Битовые маски занятости и буквы, синхронны с ячейками.
+    final PremiumLayout premiums; // Множители букв и слов по номеру клетки.
+    private CrossCheckIndex crossChecks; // Перекрёстные проверки и якоря; обновляет Engine.checkBoard.
+
+    public Board() {
+        this(PremiumLayout.STANDARD);
+    }
+
+    // Доска с заданной расстановкой бонусных клеток.
+    public Board(PremiumLayout premiums) {
+        this.premiums = premiums;
+        createBoard(); // Создание матрицы ячеек.
+        connectCells(); // Установка связей между ячейками.
+        createBonus(); // Расстановка бонусных ячеек.
+    }
+
+    // Метод создаёт игровую доску в виде массива 15x15 ячеек.
+    public void createBoard() {
+        cellMatrix = new Cell[15][15]; // Инициализируем матрицу размером 15x15.
+
+        for (int i = 0; i < 15; i++) {
+            for (int j = 0; j < 15; j++) {
+                cellMatrix[i][j] = new Cell(bits, i, j); // Каждая ячейка создаётся как объект класса Cell.
+            }
+        }
+    }
+
+    public BitBoard getBits() {
+        return bits;
+    }
+
+    public PremiumLayout getPremiums() {
+        return premiums;
+    }
+
+    /**
+     * Перекрёстные проверки и якоря после последнего принятого хода или null,
+     * если ещё не построены. Перед использованием проверьте isCurrent(board).
+     */
+    public CrossCheckIndex getCrossChecks() {
+        return crossChecks;
+    }
+
+    void setCrossChecks(CrossCheckIndex crossChecks) {
+        this.crossChecks = crossChecks;
+    }
+
+    /**
+     * Отмечает плитку в клетке как часть принятого хода (см. Engine.checkBoard).
+     * Отметка снимается, если плитку убрать из клетки.
+     */
+    public void commit(Cell cell) {
+        bits.commit(cell.getRow(), cell.getCol());
+    }
+
+    /**
+     * Лежит ли в клетке плитка одного из прошлых ходов — за O(1), без поиска по списку.
+     */
+    public boolean isCommitted(Cell cell) {
+        return bits.isCommitted(cell.getRow(), cell.getCol());
+    }
+
+    /**
+     * Делает доску копией other: плитки, отметки принятых ходов и перекрёстные проверки.
+     * Копия ничего не разделяет с other, кроме неизменяемых плиток, и переиспользует
+     * свои объекты — розыгрыши (Simulator) копируют доску много раз без создания новых.
+     * Расстановка бонусных клеток должна совпадать.
+     */
+    public void copyFrom(Board other) {
+        for (int i = 0; i < 15; i++) {
+            for (int j = 0; j < 15; j++) {
+                Tile tile = other.cellMatrix[i][j].getTile();
+                if (cellMatrix[i][j].getTile() != tile) {
+                    cellMatrix[i][j].setTile(tile);
+                }
+            }
+        }
+        bits.copyFrom(other.bits);
+        CrossCheckIndex index = other.crossChecks;
+        if (index == null) {
+            crossChecks = null;
+        } else {
+            if (crossChecks == null || crossChecks.getLexicon() != index.getLexicon()) {
+                crossChecks = new CrossCheckIndex(index.getLexicon());
+            }
+            crossChecks.copyFrom(index);
+        }
+    }
+
+    // Метод устанавливает связи между ячейками (соседями).
+    public void connectCells() {
+        for (int i = 0; i < 15; i++) {
+            for (int j = 0; j < 15; j++) {
+                connectTop(i, j, cellMatrix); // Связь с верхней ячейкой.
+                connectLeft(i, j, cellMatrix); // Связь с левой ячейкой.
+                connectRight(i, j, cellMatrix); // Связь с правой ячейкой.
+                connectBottom(i, j, cellMatrix); // Связь с нижней ячейкой.
+            }
+        }
+    }
+
+    // Метод задаёт бонусные ячейки на доске по раскладке premiums.
+    // Обозначения в клетках нужны для отображения; очки считаются по таблицам раскладки.
+    public void createBonus() {
+        for (int i = 0; i < 15; i++) {
+            for (int j = 0; j < 15; j++) {
+                cellMatrix[i][j].setBonus(premiums.label(i * 15 + j));
+            }
+        }
+    }
+
+    // Связывает текущую ячейку с ячейкой сверху.
+    public void connectTop(int row, int col, Cell[][] cellMatrix) {
+        if ((row - 1) < 0) { // Если ячейка на первой строке, сверху нет связи.
+            cellMatrix[row][col].setTop(null);
+            return;
+        }
+        int newRow = row - 1;
+        cellMatrix[row][col].setTop(cellMatrix[newRow][col]); // Связываем с ячейкой сверху.
+    }
+
+    // Связывает текущую ячейку с ячейкой снизу.
+    public void connectBottom(int row, int col, Cell[][] cellMatrix) {
+        if ((row + 1) > 14) { // Если ячейка на последней строке, снизу нет связи.
+            cellMatrix[row][col].setBottom(null);
+            return;
+        }
+        int newRow = row + 1;
+        cellMatrix[row][col].setBottom(cellMatrix[newRow][col]); // Связываем с ячейкой снизу.
+    }
+
+    // Связывает текущую ячейку с ячейкой слева.
+    public void connectLeft(int row, int col, Cell[][] cellMatrix) {
+        if ((col - 1) < 0) { // Если ячейка на первой колонке, слева нет связи.
+            cellMatrix[row][col].setLeft(null);
+            return;
+        }
+        int newCol = col - 1;
+        cellMatrix[row][col].setLeft(cellMatrix[row][newCol]); // Связываем с ячейкой слева.
+    }
+
+    // Связывает текущую ячейку с ячейкой справа.
+    public void connectRight(int row, int col, Cell[][] cellMatrix) {
+        if ((col + 1) > 14) { // Если ячейка на последней колонке, справа нет связи.
+            cellMatrix[row][col].setRight(null);
+            return;
+        }
+        int newCol = col + 1;
+        cellMatrix[row][col].setRight(cellMatrix[row][newCol]); // Связываем с ячейкой справа.
+    }
+}
@@ -6,6 +6,8 @@ public class Cell
 {
     private Tile tile;                  // Плитка, размещённая в ячейке.
     private Cell top, left, right, bottom; // Соседние ячейки (сверху, слева, справа, снизу).
+    private final int row, col;         // Координаты ячейки на доске.
+    private final BitBoard bits;        // Упакованная копия доски, обновляется в setTile.
 
 
     /*
@@ -18,16 +20,29 @@ public class Cell
     private String bonus;
 
     // Конструктор создаёт пустую ячейку без плитки и соседей.
-    public Cell()
+    public Cell(BitBoard bits, int row, int col)
     {
         tile = null;
         top = left = right = bottom = null;
-
+        this.bits = bits;
+        this.row = row;
+        this.col = col;
     }
+
+   public int getRow()
+   {
+       return row;
+   }
+
+   public int getCol()
+   {
+       return col;
+   }
     
    public void setTile(Tile tile)
    {
        this.tile = tile;
+       bits.set(row, col, tile);
    }
     
    public Tile getTile()
@@ -0,0 +1,143 @@
+package edu.susu.scrabble;
+
+/**
+ * Перекрёстные проверки и якоря доски, которые обновляются по ходам, а не
+ * пересчитываются целиком перед каждым поиском.
+ * Для каждой пустой клетки хранится 26-битная маска букв, которые образуют
+ * допустимое слово в перпендикулярном направлении, — отдельно для горизонтальных
+ * и для вертикальных ходов, — и маски якорей по строкам (пустые клетки
+ * с занятым соседом по горизонтали или вертикали).
+ *
+ * Индекс живёт рядом с Board (Board.getCrossChecks) и обновляется в
+ * Engine.checkBoard только для строк и столбцов, которых коснулся принятый ход.
+ * Индекс действителен, пока доска не менялась после обновления (isCurrent);
+ * MoveGenerator в противном случае считает проверки сам.
+ */
+public class CrossCheckIndex {
+
+    private static final int SIZE = BitBoard.SIZE;
+    static final int ALL_LETTERS = (1 << 26) - 1;
+
+    private final Lexicon lexicon;
+    private final int[] across = new int[SIZE * SIZE]; // для горизонтальных ходов (вертикальные слова)
+    private final int[] down = new int[SIZE * SIZE];   // для вертикальных ходов (горизонтальные слова)
+    private final int[] anchorRows = new int[SIZE];
+    private int version = -1; // BitBoard.version() на момент последнего обновления
+
+    public CrossCheckIndex(Lexicon lexicon) {
+        this.lexicon = lexicon;
+    }
+
+    public Lexicon getLexicon() {
+        return lexicon;
+    }
+
+    /**
+     * Пересчитывает все клетки доски.
+     */
+    public void rebuild(Board board) {
+        update(board, BitBoard.FULL, BitBoard.FULL);
+    }
+
+    /**
+     * Пересчитывает проверки после хода, занявшего строки rows и столбцы cols (битовые маски).
+     * Плитка в столбце меняет вертикальные слова, то есть проверки горизонтальных ходов
+     * в этом столбце; плитка в строке — проверки вертикальных ходов в этой строке.
+     * Якоря меняются в затронутых строках и в соседних с ними.
+     */
+    public void update(Board board, int rows, int cols) {
+        BitBoard bits = board.getBits();
+        for (int col = 0; col < SIZE; col++) {
+            if ((cols & (1 << col)) == 0) {
+                continue;
+            }
+            for (int row = 0; row < SIZE; row++) {
+                across[row * SIZE + col] = bits.isOccupied(row, col) ? 0 : crossCheck(lexicon, bits, true, row, col);
+            }
+        }
+        for (int row = 0; row < SIZE; row++) {
+            if ((rows & (1 << row)) == 0) {
+                continue;
+            }
+            for (int col = 0; col < SIZE; col++) {
+                down[row * SIZE + col] = bits.isOccupied(row, col) ? 0 : crossCheck(lexicon, bits, false, col, row);
+            }
+        }
+        int anchorsChanged = (rows | (rows << 1) | (rows >>> 1)) & BitBoard.FULL;
+        for (int row = 0; row < SIZE; row++) {
+            if ((anchorsChanged & (1 << row)) != 0) {
+                anchorRows[row] = bits.anchorMask(row);
+            }
+        }
+        version = bits.version();
+    }
+
+    /**
+     * Делает индекс копией other (для копии доски, см. Board.copyFrom).
+     */
+    public void copyFrom(CrossCheckIndex other) {
+        System.arraycopy(other.across, 0, across, 0, across.length);
+        System.arraycopy(other.down, 0, down, 0, down.length);
+        System.arraycopy(other.anchorRows, 0, anchorRows, 0, SIZE);
+        version = other.version;
+    }
+
+    /**
+     * Соответствует ли индекс текущему состоянию доски.
+     */
+    public boolean isCurrent(Board board) {
+        return version == board.getBits().version();
+    }
+
+    /**
+     * Буквы, допустимые в клетке cell (row * 15 + col) для хода в направлении horizontal.
+     */
+    public int allowed(boolean horizontal, int cell) {
+        return horizontal ? across[cell] : down[cell];
+    }
+
+    /**
+     * Якоря строки row: бит c — клетка (row, c).
+     */
+    public int anchorMask(int row) {
+        return anchorRows[row];
+    }
+
+    /**
+     * Маска букв, допустимых в пустой клетке pos линии line для хода в направлении
+     * horizontal: перпендикулярное слово через эту клетку должно быть в словаре.
+     * Если перпендикулярного слова нет, подходит любая буква.
+     */
+    static int crossCheck(Lexicon lexicon, BitBoard bits, boolean horizontal, int line, int pos) {
+        // Перпендикулярная линия — pos, в ней клетка стоит на позиции line.
+        int mask = bits.lineMask(!horizontal, pos);
+        int start = BitBoard.runStart(mask, line);
+        int end = BitBoard.runEnd(mask, line);
+        if (start == end) {
+            return ALL_LETTERS;
+        }
+
+        int node = lexicon.root();
+        for (int p = start; p < line && node != Lexicon.NO_NODE; p++) {
+            node = lexicon.child(node, bits.letterInLine(!horizontal, pos, p) - 'a');
+        }
+        if (node == Lexicon.NO_NODE) {
+            return 0;
+        }
+
+        int allowed = 0;
+        int letters = lexicon.childMask(node);
+        while (letters != 0) {
+            int l = Integer.numberOfTrailingZeros(letters);
+            letters &= letters - 1;
+            int current = lexicon.child(node, l);
+            for (int p = line + 1; p <= end && current != Lexicon.NO_NODE; p++) {
+                current = lexicon.child(current, bits.letterInLine(!horizontal, pos, p) - 'a');
+            }
+            if (current != Lexicon.NO_NODE && lexicon.isTerminal(current)) {
+                allowed |= 1 << l;
+            }
+        }
+        return allowed;
+    }
+}
@@ -0,0 +1,79 @@
+package edu.susu.scrabble;
+
+/**
+ * Минимальный DAWG (ориентированный ациклический граф слов): в отличие от
+ * Trie общие окончания слов хранятся один раз.
+ * Узел — это индекс в плоских массивах: маска переходов с флагом конца слова
+ * и начало отрезка рёбер. Переход по букве — popcount маски ниже этой буквы,
+ * без перебора и без объектов на узел.
+ * Строится через DawgBuilder; после построения не изменяется.
+ */
+public class Dawg implements Lexicon {
+
+    private static final int LETTERS = (1 << 26) - 1;
+
+    final int[] masks;
+    final int[] firstEdge;
+    final int[] edges;
+    final int root;
+
+    Dawg(int[] masks, int[] firstEdge, int[] edges, int root) {
+        this.masks = masks;
+        this.firstEdge = firstEdge;
+        this.edges = edges;
+        this.root = root;
+    }
+
+    @Override
+    public int root() {
+        return root;
+    }
+
+    @Override
+    public int child(int node, int letter) {
+        int mask = masks[node];
+        int bit = 1 << letter;
+        if ((mask & bit) == 0) {
+            return NO_NODE;
+        }
+        return edges[firstEdge[node] + Integer.bitCount(mask & (bit - 1))];
+    }
+
+    @Override
+    public int childMask(int node) {
+        return masks[node] & LETTERS;
+    }
+
+    @Override
+    public boolean isTerminal(int node) {
+        return (masks[node] & DawgBuilder.TERMINAL) != 0;
+    }
+
+    @Override
+    public boolean contains(CharSequence word) {
+        int node = root;
+        for (int i = 0; i < word.length() && node != NO_NODE; i++) {
+            int letter = word.charAt(i) - 'a';
+            if (letter < 0 || letter >= 26) {
+                return false;
+            }
+            node = child(node, letter);
+        }
+        return node != NO_NODE && isTerminal(node);
+    }
+
+    @Override
+    public int nodeCount() {
+        return masks.length;
+    }
+
+    public int edgeCount() {
+        return edges.length;
+    }
+
+    @Override
+    public long estimatedHeapBytes() {
+        // три int-массива: заголовок массива ~16 байт + 4 байта на элемент
+        return 3 * 16L + 4L * masks.length + 4L * firstEdge.length + 4L * edges.length;
+    }
+}
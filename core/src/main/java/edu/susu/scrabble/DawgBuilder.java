@@ -0,0 +1,206 @@
+package edu.susu.scrabble;
+
+import java.util.Arrays;
+
+/**
+ * Построение минимального ациклического автомата (DAWG) по отсортированному
+ * списку слов — инкрементальный алгоритм Дацюка. Одинаковые «хвосты» слов
+ * хранятся один раз: каждый законченный узел ищется в реестре и, если такой
+ * уже есть, переиспользуется.
+ *
+ * Узлы сразу записываются в плоские массивы: маска переходов (+ флаг конца
+ * слова) и отрезок в общем массиве рёбер. Символ — это c - 'a', поэтому
+ * алфавит может быть шире 26 букв (например, разделитель '{' для GADDAG).
+ */
+class DawgBuilder {
+
+    static final int TERMINAL = 1 << 27;
+    private static final int MAX_DEPTH = 64;
+
+    private final int alphabetSize;
+
+    // Уже зарегистрированные (неизменяемые) узлы
+    private int[] masks = new int[1024];
+    private int[] firstEdge = new int[1024];
+    private int[] edges = new int[4096];
+    private int nodeCount;
+    private int edgeCount;
+
+    // Реестр: открытая адресация, хранит id узлов, -1 — пусто
+    private int[] table = new int[2048];
+    private int tableSize;
+
+    // Путь последнего добавленного слова, ещё не минимизированный
+    private final int[] pathMask = new int[MAX_DEPTH + 1];
+    private final int[][] pathChildren;
+    private final int[] pathLast = new int[MAX_DEPTH + 1];
+    private final char[] previous = new char[MAX_DEPTH];
+    private int previousLength;
+    private boolean hasPrevious;
+
+    DawgBuilder(int alphabetSize) {
+        this.alphabetSize = alphabetSize;
+        this.pathChildren = new int[MAX_DEPTH + 1][alphabetSize];
+        Arrays.fill(table, -1);
+    }
+
+    /**
+     * Добавляет слово. Слова должны идти в лексикографическом порядке,
+     * повторы допускаются.
+     */
+    void add(CharSequence word) {
+        int length = word.length();
+        if (length > MAX_DEPTH) {
+            throw new IllegalArgumentException("Слово слишком длинное: " + word);
+        }
+
+        int common = 0;
+        if (hasPrevious) {
+            int max = Math.min(length, previousLength);
+            while (common < max && previous[common] == word.charAt(common)) {
+                common++;
+            }
+            if (common < length && common < previousLength && word.charAt(common) < previous[common]
+                    || common == length && length < previousLength) {
+                throw new IllegalArgumentException("Слова должны идти по порядку: " + word);
+            }
+        } else {
+            pathMask[0] = 0;
+            pathLast[0] = -1;
+        }
+
+        // Хвост предыдущего слова после общего префикса больше не изменится.
+        freezeDownTo(common);
+
+        for (int d = common; d < length; d++) {
+            int symbol = word.charAt(d) - 'a';
+            if (symbol < 0 || symbol >= alphabetSize) {
+                throw new IllegalArgumentException("Недопустимый символ в слове: " + word);
+            }
+            pathMask[d] |= 1 << symbol;
+            pathLast[d] = symbol;
+            pathMask[d + 1] = 0;
+            pathLast[d + 1] = -1;
+            previous[d] = word.charAt(d);
+        }
+        pathMask[length] |= TERMINAL;
+
+        previousLength = length;
+        hasPrevious = true;
+    }
+
+    /**
+     * Завершает построение и возвращает готовый DAWG.
+     */
+    Dawg build() {
+        if (!hasPrevious) {
+            pathMask[0] = 0;
+        }
+        freezeDownTo(0);
+        int root = register(0);
+        return new Dawg(
+                Arrays.copyOf(masks, nodeCount),
+                Arrays.copyOf(firstEdge, nodeCount),
+                Arrays.copyOf(edges, edgeCount),
+                root);
+    }
+
+    // Регистрирует узлы пути глубже depth и подставляет их id в родителей.
+    private void freezeDownTo(int depth) {
+        for (int d = previousLength; d > depth; d--) {
+            int id = register(d);
+            pathChildren[d - 1][pathLast[d - 1]] = id;
+        }
+        if (previousLength > depth) {
+            previousLength = depth;
+        }
+    }
+
+    private int register(int depth) {
+        int mask = pathMask[depth];
+        int[] children = pathChildren[depth];
+
+        int hash = mask * 31;
+        for (int s = 0; s < alphabetSize; s++) {
+            if ((mask & (1 << s)) != 0) {
+                hash = hash * 31 + children[s];
+            }
+        }
+
+        int slot = mix(hash) & (table.length - 1);
+        while (table[slot] != -1) {
+            int candidate = table[slot];
+            if (sameNode(candidate, mask, children)) {
+                return candidate;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+
+        int id = appendNode(mask, children);
+        table[slot] = id;
+        if (++tableSize * 2 > table.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    private boolean sameNode(int id, int mask, int[] children) {
+        if (masks[id] != mask) {
+            return false;
+        }
+        int e = firstEdge[id];
+        for (int s = 0; s < alphabetSize; s++) {
+            if ((mask & (1 << s)) != 0 && edges[e++] != children[s]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int appendNode(int mask, int[] children) {
+        if (nodeCount == masks.length) {
+            masks = Arrays.copyOf(masks, nodeCount * 2);
+            firstEdge = Arrays.copyOf(firstEdge, nodeCount * 2);
+        }
+        int degree = Integer.bitCount(mask & (TERMINAL - 1));
+        if (edgeCount + degree > edges.length) {
+            edges = Arrays.copyOf(edges, Math.max(edges.length * 2, edgeCount + degree));
+        }
+
+        masks[nodeCount] = mask;
+        firstEdge[nodeCount] = edgeCount;
+        for (int s = 0; s < alphabetSize; s++) {
+            if ((mask & (1 << s)) != 0) {
+                edges[edgeCount++] = children[s];
+            }
+        }
+        return nodeCount++;
+    }
+
+    private void rehash() {
+        int[] old = table;
+        table = new int[old.length * 2];
+        Arrays.fill(table, -1);
+        for (int id : old) {
+            if (id == -1) {
+                continue;
+            }
+            int hash = masks[id] * 31;
+            for (int e = firstEdge[id], end = firstEdge[id] + Integer.bitCount(masks[id] & (TERMINAL - 1)); e < end; e++) {
+                hash = hash * 31 + edges[e];
+            }
+            int slot = mix(hash) & (table.length - 1);
+            while (table[slot] != -1) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = id;
+        }
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+}
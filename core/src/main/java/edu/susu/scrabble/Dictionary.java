@@ -0,0 +1,156 @@
+package edu.susu.scrabble;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Scanner;
+
+/**
+ * Класс Dictionary читает и хранит слова из файла (уже скопированного во внутреннюю память)
+ * или работает поверх готового автомата (двоичный dict.bin, см. MappedLexicon).
+ * Слова хранятся в одном из словарных автоматов (Lexicon):
+ * - DAWG (по умолчанию) — минимальный граф, общие окончания слов хранятся один раз;
+ * - Trie — прежняя реализация, 26 ссылок на каждый узел.
+ * DAWG после построения не меняется, поэтому слова, добавленные пользователем
+ * (и строки файла, нарушающие алфавитный порядок), попадают в небольшой отдельный Trie.
+ */
+public class Dictionary {
+
+	public enum Backend { TRIE, DAWG }
+
+	Lexicon lexicon; // основной словарь: проверка слов и генерация ходов
+	Trie trie; // Trie для добавляемых слов (при Backend.TRIE совпадает с lexicon)
+	private Gaddag gaddag; // строится по требованию (getGaddag)
+
+	/**
+	 * При создании Dictionary указываем:
+	 * @param internalFilePath - путь к файлу file.txt во внутреннем хранилище
+	 * @throws IOException если файл не прочитать (пустой словарь не создаётся)
+	 */
+	public Dictionary(String internalFilePath) throws IOException {
+		this(internalFilePath, Backend.DAWG);
+	}
+
+	public Dictionary(String internalFilePath, Backend backend) throws IOException {
+		trie = new Trie();
+		if (backend == Backend.TRIE) {
+			lexicon = trie;
+			addFileToDictionary(internalFilePath, null);
+		} else {
+			DawgBuilder builder = new DawgBuilder(26);
+			addFileToDictionary(internalFilePath, builder);
+			lexicon = builder.build();
+		}
+	}
+
+	/**
+	 * Словарь поверх готового автомата (например, MappedLexicon из dict.bin).
+	 * Добавляемые слова попадают в отдельный Trie.
+	 */
+	public Dictionary(Lexicon lexicon) {
+		this.trie = new Trie();
+		this.lexicon = lexicon;
+	}
+
+	/**
+	 * Читаем словарь из файла (внутреннее хранилище).
+	 * Если задан builder, слова по порядку идут в DAWG, остальные — в Trie.
+	 */
+	private void addFileToDictionary(String filePath, DawgBuilder builder) throws IOException {
+		try (FileInputStream fis = new FileInputStream(filePath);
+			 Scanner sc = new Scanner(fis)) {
+			String previous = null;
+			while (sc.hasNextLine()) {
+				String word = sc.nextLine().trim().toLowerCase();
+				if (!LexiconFormat.isValidWord(word)) {
+					continue;
+				}
+				if (builder != null && (previous == null || word.compareTo(previous) >= 0)) {
+					builder.add(word);
+					previous = word;
+				} else {
+					trie.insertWord(word);
+				}
+			}
+			if (sc.ioException() != null) {
+				throw sc.ioException(); // Scanner не бросает ошибки чтения сам
+			}
+		}
+	}
+
+	/**
+	 * Проверка, есть ли слово в словаре (регистр не важен).
+	 * Буквы приводятся к нижнему регистру по ходу обхода автоматов, без копий строки.
+	 */
+	public boolean verifyWord(CharSequence word) {
+		if (word == null) {
+			return false;
+		}
+		return lexicon.containsIgnoreCase(word, 0, word.length())
+				|| (hasUserWords() && trie.containsIgnoreCase(word, 0, word.length()));
+	}
+
+	/**
+	 * Проверка слова chars[offset, offset + length) без создания объектов.
+	 */
+	public boolean verifyWord(char[] chars, int offset, int length) {
+		return lexicon.containsIgnoreCase(chars, offset, length)
+				|| (hasUserWords() && trie.containsIgnoreCase(chars, offset, length));
+	}
+
+	/**
+	 * Проверка слова из ASCII-байтов bytes[offset, offset + length) без создания объектов.
+	 */
+	public boolean verifyWord(byte[] bytes, int offset, int length) {
+		return lexicon.containsIgnoreCase(bytes, offset, length)
+				|| (hasUserWords() && trie.containsIgnoreCase(bytes, offset, length));
+	}
+
+	/**
+	 * Есть ли слова вне основного автомата (добавленные пользователем или вне порядка в файле).
+	 */
+	public boolean hasUserWords() {
+		return lexicon != trie && trie.nodeCount() > 1;
+	}
+
+	/**
+	 * Доступ к Trie (для возможности insertWord снаружи, если надо).
+	 */
+	public Trie getTrie() {
+		return trie;
+	}
+
+	/**
+	 * Основной словарный автомат — по нему MoveGenerator строит ходы.
+	 */
+	public Lexicon getLexicon() {
+		return lexicon;
+	}
+
+	/**
+	 * GADDAG по тем же словам, что и lexicon, — для двусторонней генерации ходов.
+	 * Строится при первом обращении (заметно дольше и тяжелее DAWG), затем кэшируется.
+	 */
+	public synchronized Gaddag getGaddag() {
+		if (gaddag == null) {
+			gaddag = Gaddag.build(lexicon);
+		}
+		return gaddag;
+	}
+
+	/**
+	 * Краткая сводка для логов: тип структуры, число узлов и занимаемая память.
+	 */
+	public String describe() {
+		long bytes = lexicon.estimatedHeapBytes();
+		int nodes = lexicon.nodeCount();
+		if (lexicon != trie) {
+			bytes += trie.estimatedHeapBytes();
+			nodes += trie.nodeCount();
+		}
+		String summary = lexicon.getClass().getSimpleName() + ": узлов " + nodes + ", ~" + (bytes / 1024) + " КБ в куче";
+		if (lexicon instanceof MappedLexicon) {
+			summary += ", " + (((MappedLexicon) lexicon).mappedBytes() / 1024) + " КБ отображено из файла";
+		}
+		return summary;
+	}
+}
@@ -0,0 +1,374 @@
+package edu.susu.scrabble;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Перебор эндшпиля: мешок пуст, обе стойки известны, так что партия — игра
+ * с полной информацией. Negamax с альфа-бета отсечением по разнице очков
+ * до конца партии: ходы в узле упорядочены по очкам (лучший ход из таблицы
+ * транспозиций — первым), позиции запоминаются в таблице транспозиций
+ * по хэшам доски и стоек (Zobrist), глубина растёт итеративно, пока не выйдет время.
+ *
+ * Конец партии — по обычным правилам, как в AIGame.settleRacks: кто выложил
+ * последнюю плитку, получает очки плиток соперника, а соперник их теряет;
+ * после двух пасов подряд каждый теряет очки своих плиток. В узле рассматриваются не больше width лучших
+ * по очкам ходов и пас, иначе перебор не укладывается во время; ответ точен,
+ * если перебор дошёл до конца партии во всех ветвях и ни один ход не отброшен
+ * (Solution.exact).
+ *
+ * Каждый ход выкладывается на свою копию доски для следующего уровня
+ * (Board.copyFrom и Engine.checkBoard), так что доска партии не меняется.
+ */
+public class EndgameSolver {
+
+    public static final int DEFAULT_WIDTH = 16;
+
+    private static final int MAX_PLIES = 2 * 7 + 2; // каждый ход выкладывает хотя бы плитку, плюс пасы
+    private static final int TABLE_BITS = 16;
+    private static final int TABLE_MASK = (1 << TABLE_BITS) - 1;
+    private static final int INFINITY = 1 << 20;
+    private static final byte EXACT = 0;
+    private static final byte LOWER = 1; // значение не меньше сохранённого
+    private static final byte UPPER = 2; // значение не больше сохранённого
+    private static final int NO_MOVE = -1;
+    private static final int PASS = -2; // в таблице: лучший ход — пас
+
+    private static final long[] BOARD_KEYS = new long[BitBoard.SIZE * BitBoard.SIZE * Tile.LETTERS];
+    private static final long[] RACK_KEYS = new long[2 * UnseenTiles.SYMBOLS * 8]; // игрок, символ, номер копии
+    private static final long PASSED_KEY;
+
+    static {
+        long n = 0;
+        for (int i = 0; i < BOARD_KEYS.length; i++) {
+            BOARD_KEYS[i] = mix(n++);
+        }
+        for (int i = 0; i < RACK_KEYS.length; i++) {
+            RACK_KEYS[i] = mix(n++);
+        }
+        PASSED_KEY = mix(n);
+    }
+
+    private final Dictionary dictionary;
+    private final MoveGenerator generator;
+    private final Placement placement = new Placement();
+    private final int[] rackCounts = new int[LeaveTable.SYMBOLS];
+    private final int[] scratch = new int[LeaveTable.SYMBOLS];
+    private int width = DEFAULT_WIDTH;
+
+    // Таблица транспозиций
+    private final long[] keys = new long[1 << TABLE_BITS];
+    private final int[] values = new int[1 << TABLE_BITS];
+    private final byte[] depths = new byte[1 << TABLE_BITS];
+    private final byte[] bounds = new byte[1 << TABLE_BITS];
+    private final short[] bestMoves = new short[1 << TABLE_BITS];
+    private final boolean[] limited = new boolean[1 << TABLE_BITS]; // значение получено с оценкой по глубине
+
+    // Состояние перебора: доска и движок на каждый уровень, стойки обоих игроков
+    private final Board[] boards = new Board[MAX_PLIES + 1];
+    private final Engine[] engines = new Engine[MAX_PLIES + 1];
+    private final AIPlayer[] players = { new AIPlayer(), new AIPlayer() };
+    private final Tile[][] savedRacks = new Tile[MAX_PLIES + 1][7];
+    private final int[] seen = new int[UnseenTiles.SYMBOLS];
+    private Set<String> excluded; // слова, которые нельзя играть в корне
+    private long deadline;
+    private boolean timeUp;
+    private boolean depthLimited; // в итерации были оценки без перебора до конца партии
+    private boolean widthLimited; // в итерации были отброшены ходы сверх width
+    private AIPlayer.BestMove rootBest;
+    private long nodes;
+
+    public EndgameSolver(Dictionary dictionary, boolean useGaddag) {
+        this.dictionary = dictionary;
+        this.generator = new MoveGenerator(dictionary, useGaddag);
+    }
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    public boolean usesGaddag() {
+        return generator.usesGaddag();
+    }
+
+    /**
+     * Сколько лучших по очкам ходов рассматривать в узле (кроме паса).
+     */
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    /**
+     * Результат перебора.
+     */
+    public static final class Solution {
+        public final AIPlayer.BestMove move; // null — пас
+        public final int spread;             // разница очков до конца партии в пользу ходящего
+        public final int depth;              // глубина последней завершённой итерации
+        public final boolean exact;
+        public final long nodes;
+
+        Solution(AIPlayer.BestMove move, int spread, int depth, boolean exact, long nodes) {
+            this.move = move;
+            this.spread = spread;
+            this.depth = depth;
+            this.exact = exact;
+            this.nodes = nodes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s, разница %+d, глубина %d%s, %d узлов",
+                    move == null ? "пас" : move.word, spread, depth, exact ? " (точно)" : "", nodes);
+        }
+    }
+
+    /**
+     * Лучший ход стойки rack против стойки opponentRack на доске board
+     * (мешок пуст) до момента deadlineNanos (System.nanoTime).
+     * Слова из excluded не рассматриваются для первого хода (как в AIPlayer.findBestMove),
+     * дальше по дереву — без ограничений.
+     * Первая итерация (глубина 1) выполняется всегда, даже если время вышло.
+     */
+    public Solution solve(Board board, Engine engine, Tile[] rack, Tile[] opponentRack, Set<String> excluded,
+                          long deadlineNanos) {
+        if (boards[0] == null || boards[0].getPremiums() != board.getPremiums()) {
+            for (int i = 0; i <= MAX_PLIES; i++) {
+                boards[i] = new Board(board.getPremiums());
+                engines[i] = new Engine(null, boards[i], dictionary);
+            }
+        }
+        boards[0].copyFrom(board);
+        engines[0].copyFrom(engine);
+        System.arraycopy(rack, 0, players[0].getRack(), 0, 7);
+        System.arraycopy(opponentRack, 0, players[1].getRack(), 0, 7);
+        Arrays.fill(keys, 0);
+        this.excluded = excluded;
+        nodes = 0;
+        long boardHash = boardHash(board);
+
+        Solution solution = null;
+        widthLimited = false;
+        for (int depth = 1; depth <= MAX_PLIES; depth++) {
+            deadline = deadlineNanos;
+            timeUp = false;
+            depthLimited = false;
+            int value = search(0, depth, -INFINITY, INFINITY, false, boardHash, depth == 1);
+            if (timeUp) {
+                break;
+            }
+            solution = new Solution(rootBest, value, depth, !depthLimited && !widthLimited, nodes);
+            if (!depthLimited) {
+                break; // все ветви дошли до конца партии — глубже искать нечего
+            }
+        }
+        return solution;
+    }
+
+    /**
+     * Negamax: разница очков до конца партии в пользу игрока ply % 2.
+     * Лучший ход корня (ply 0) сохраняется в rootBest.
+     */
+    private int search(int ply, int depth, int alpha, int beta, boolean passed, long boardHash, boolean mustFinish) {
+        nodes++;
+        if (!mustFinish && (System.nanoTime() - deadline > 0 || Thread.currentThread().isInterrupted())) {
+            timeUp = true;
+        }
+        if (timeUp) {
+            return 0;
+        }
+        AIPlayer mover = players[ply & 1];
+        AIPlayer opponent = players[(ply + 1) & 1];
+        if (depth == 0 || ply >= MAX_PLIES) {
+            depthLimited = true;
+            // Оценка без перебора: плитки, оставшиеся на стойке, скорее всего не сыграют
+            return opponent.getRackPoints() - mover.getRackPoints();
+        }
+
+        long key = key(ply, boardHash, passed);
+        int index = slot(key);
+        int ttMove = NO_MOVE;
+        if (keys[index] == key) {
+            ttMove = bestMoves[index];
+            if (depths[index] >= depth && ply > 0) {
+                int stored = values[index];
+                if (bounds[index] == EXACT
+                        || (bounds[index] == LOWER && stored >= beta)
+                        || (bounds[index] == UPPER && stored <= alpha)) {
+                    depthLimited |= limited[index];
+                    return stored;
+                }
+            }
+        }
+
+        List<AIPlayer.BestMove> moves = orderedMoves(boards[ply], engines[ply], mover.getRack(), ply == 0);
+        if (moves.size() > width) {
+            moves.subList(width, moves.size()).clear();
+            widthLimited = true;
+        }
+        // Порядок перебора: лучший ход из таблицы, остальные по очкам, пас последним
+        int count = moves.size() + 1;
+        int[] order = new int[count];
+        int next = 0;
+        if (ttMove >= 0 && ttMove < moves.size() || ttMove == PASS) {
+            order[next++] = ttMove;
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            if (i != ttMove) {
+                order[next++] = i;
+            }
+        }
+        if (ttMove != PASS) {
+            order[next] = PASS;
+        }
+
+        boolean outerLimited = depthLimited;
+        depthLimited = false;
+        int alphaStart = alpha;
+        int best = -INFINITY;
+        int bestMove = NO_MOVE;
+        Tile[] saved = savedRacks[ply];
+        for (int moveIndex : order) {
+            int value;
+            if (moveIndex == PASS) {
+                // Второй пас подряд заканчивает партию
+                if (passed) {
+                    value = opponent.getRackPoints() - mover.getRackPoints();
+                } else {
+                    boards[ply + 1].copyFrom(boards[ply]);
+                    engines[ply + 1].copyFrom(engines[ply]);
+                    value = -search(ply + 1, depth - 1, -beta, -alpha, true, boardHash, mustFinish);
+                }
+            } else {
+                AIPlayer.BestMove move = moves.get(moveIndex);
+                System.arraycopy(mover.getRack(), 0, saved, 0, 7);
+                Board board = boards[ply + 1];
+                Engine engine = engines[ply + 1];
+                board.copyFrom(boards[ply]);
+                engine.copyFrom(engines[ply]);
+                AIGame.place(board, engine, mover, move);
+                long nextHash = boardHash;
+                for (Cell cell : engine.recentlyPlayedCellStack) {
+                    nextHash ^= BOARD_KEYS[(cell.getRow() * BitBoard.SIZE + cell.getCol()) * Tile.LETTERS
+                            + cell.getTile().code()];
+                }
+                if (!engine.checkBoard()) {
+                    System.arraycopy(saved, 0, mover.getRack(), 0, 7);
+                    continue;
+                }
+                if (mover.getRackSize() == 0) {
+                    // Игрок выложил все плитки: партия окончена, плитки соперника засчитываются дважды
+                    value = move.score + 2 * opponent.getRackPoints();
+                } else {
+                    // value = score - child, так что окно (alpha, beta) для соперника сдвигается на очки хода
+                    value = move.score - search(ply + 1, depth - 1, move.score - beta, move.score - alpha,
+                            false, nextHash, mustFinish);
+                }
+                System.arraycopy(saved, 0, mover.getRack(), 0, 7);
+            }
+            if (timeUp) {
+                return 0;
+            }
+            if (value > best) {
+                best = value;
+                bestMove = moveIndex;
+                if (ply == 0) {
+                    rootBest = moveIndex == PASS ? null : moves.get(moveIndex);
+                }
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        limited[index] = depthLimited;
+        depthLimited |= outerLimited;
+        keys[index] = key;
+        values[index] = best;
+        depths[index] = (byte) depth;
+        bounds[index] = best <= alphaStart ? UPPER : best >= beta ? LOWER : EXACT;
+        bestMoves[index] = (short) bestMove;
+        return best;
+    }
+
+    // Ходы стойки по убыванию очков (при равенстве — больше плиток со стойки).
+    // Варианты одного хода с пустыми плитками не повторяются, чтобы не занимать места в width.
+    private List<AIPlayer.BestMove> orderedMoves(Board board, Engine engine, Tile[] rack, boolean root) {
+        List<AIPlayer.BestMove> moves = new ArrayList<>();
+        AIPlayer.countRack(rack, rackCounts);
+        for (MoveGenerator.Move move : generator.generateMoves(board, rack)) {
+            if (root && excluded.contains(move.word)) {
+                continue;
+            }
+            if (!AIPlayer.isPlayableVariant(board, move, rackCounts, scratch)) {
+                continue;
+            }
+            placement.set(move.startRow, move.startCol, move.isHorizontal, move.word);
+            AIPlayer.fillTilePoints(board, rack, placement);
+            int score = engine.scoreMove(board, placement);
+            if (score <= 0) {
+                continue;
+            }
+            AIPlayer.BestMove candidate = new AIPlayer.BestMove();
+            candidate.word = move.word;
+            candidate.startRow = move.startRow;
+            candidate.startCol = move.startCol;
+            candidate.isHorizontal = move.isHorizontal;
+            candidate.score = score;
+            candidate.equity = score + move.tilesPlaced / 8f; // только для порядка
+            moves.add(candidate);
+        }
+        Collections.sort(moves, HIGHEST_FIRST);
+        return moves;
+    }
+
+    private static final Comparator<AIPlayer.BestMove> HIGHEST_FIRST = (a, b) -> Float.compare(b.equity, a.equity);
+
+    private long key(int ply, long boardHash, boolean passed) {
+        long key = boardHash;
+        for (int side = 0; side < 2; side++) {
+            // Игрок, который ходит, — первым, чтобы одинаковые позиции с разной очередью различались
+            Tile[] rack = players[(ply + side) & 1].getRack();
+            Arrays.fill(seen, 0);
+            for (Tile tile : rack) {
+                if (tile != null) {
+                    int symbol = UnseenTiles.symbolOf(tile);
+                    key ^= RACK_KEYS[(side * UnseenTiles.SYMBOLS + symbol) * 8 + seen[symbol]++];
+                }
+            }
+        }
+        return passed ? key ^ PASSED_KEY : key;
+    }
+
+    private static int slot(long key) {
+        return (int) (key ^ (key >>> 32)) & TABLE_MASK;
+    }
+
+    private static long boardHash(Board board) {
+        long hash = 0;
+        BitBoard bits = board.getBits();
+        for (int row = 0; row < BitBoard.SIZE; row++) {
+            for (int col = 0; col < BitBoard.SIZE; col++) {
+                if (bits.isOccupied(row, col)) {
+                    hash ^= BOARD_KEYS[(row * BitBoard.SIZE + col) * Tile.LETTERS + bits.letterAt(row, col) - 'a'];
+                }
+            }
+        }
+        return hash;
+    }
+
+    // SplitMix64: ключи Zobrist
+    private static long mix(long state) {
+        long z = state + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
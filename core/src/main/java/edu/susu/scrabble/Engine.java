@@ -0,0 +1,270 @@
+package edu.susu.scrabble;
+
+import java.util.Stack;
+
+// Основной класс для проверки ходов на доске и подсчёта очков.
+public class Engine {
+	public static final int ILLEGAL_MOVE = -1; // Результат scoreMove для недопустимого хода.
+	private static final int CENTER = 7;
+
+	Player player; // Игрок, делающий ход.
+	Board board; // Игровая доска.
+	Dictionary dict; // Словарь для проверки легальности слов.
+
+	// Стеки для хранения последовательности последних сыгранных плиток и клеток.
+	Stack<Tile> recentlyPlayedTileStack = new Stack<>();
+	Stack<Cell> recentlyPlayedCellStack = new Stack<>();
+
+	Tile rackTileSelected; // Плитка, выбранная игроком из стойки.
+	boolean initialMove = true; // Флаг для проверки, является ли ход первым.
+	final MoveAnalyzer analyzer = new MoveAnalyzer(this); // Однопроходный разбор хода.
+	final UnseenTiles unseen = new UnseenTiles(); // Плитки, которых ещё нет на доске.
+
+	// Старый конструктор, который принимал context:
+	// public Engine(Player player, Board board, Context context) {
+	//     this.player = player;
+	//     this.board = board;
+	//     dict = new Dictionary(context);
+	// }
+
+	// Новый конструктор:
+	public Engine(Player player, Board board, Dictionary dictionary) {
+		this.player = player;
+		this.board = board;
+		this.dict = dictionary;
+	}
+
+
+	// Переносит состояние партии из other (первый ход или нет, невыложенные плитки)
+	// в движок копии доски; выложенные, но не проверенные плитки не копируются.
+	public void copyFrom(Engine other) {
+		initialMove = other.initialMove;
+		unseen.copyFrom(other.unseen);
+		recentlyPlayedCellStack.clear();
+		recentlyPlayedTileStack.clear();
+	}
+
+	// Плитки, которых ещё нет на доске (мешок и обе стойки), для запросов AI.
+	public UnseenTiles getUnseen() {
+		return unseen;
+	}
+
+	// Метод для проверки валидности хода.
+	// Разбор хода (связность, слова, очки) делает MoveAnalyzer за один проход
+	// по выложенным плиткам, без проверки всей доски.
+	public boolean checkBoard() {
+		if (!analyzer.analyze(recentlyPlayedCellStack)) {
+			return false;
+		}
+		player.addScore(analyzer.getScore());
+
+		// Строки и столбцы, которых коснулся ход, — для обновления перекрёстных проверок;
+		// выложенные плитки больше не числятся невидимыми.
+		int rows = 0;
+		int cols = 0;
+		for (Cell cell : recentlyPlayedCellStack) {
+			rows |= 1 << cell.getRow();
+			cols |= 1 << cell.getCol();
+			unseen.remove(cell.getTile());
+		}
+
+		// Отмечаем клетки текущего хода на доске как занятые прошлыми ходами.
+		commitRecentlyPlayedCells();
+		updateCrossChecks(rows, cols);
+		clearStacks();
+		initialMove = false;
+		return true;
+	}
+
+	// Множитель слова для клетки; бонус клетки, занятой прошлым ходом, уже использован.
+	public int getWordMultiplier(Cell cell)
+	{
+		if(board.isCommitted(cell))
+		{
+			return 1;
+		}
+		return board.premiums.wordMultiplier(cell.getRow() * 15 + cell.getCol());
+	}
+
+	// Множитель буквы для клетки; бонус клетки, занятой прошлым ходом, уже использован.
+	public int getLetterMultiplier(Cell cell)
+	{
+		if(board.isCommitted(cell))
+		{
+			return 1;
+		}
+		return board.premiums.letterMultiplier(cell.getRow() * 15 + cell.getCol());
+	}
+
+	/**
+	 * Оценка хода-кандидата без изменения доски, игроков и стеков Engine.
+	 * Возвращает очки за ход или ILLEGAL_MOVE, если ход недопустим.
+	 * Правила те же, что у checkBoard (MoveAnalyzer), только все плитки,
+	 * уже лежащие на board, считаются выложенными прошлыми ходами.
+	 * Не создаёт объектов и читает только board, placement и словарь,
+	 * поэтому безопасен для параллельных вызовов.
+	 */
+	public int scoreMove(Board board, Placement placement)
+	{
+		BitBoard bits = board.getBits();
+		boolean across = placement.isHorizontal;
+		int line = across ? placement.startRow : placement.startCol;
+		int first = across ? placement.startCol : placement.startRow;
+		int last = first + placement.length - 1;
+		if (placement.length < 1 || line < 0 || line >= BitBoard.SIZE || first < 0 || last >= BitBoard.SIZE) {
+			return ILLEGAL_MOVE;
+		}
+
+		int lineMask = bits.lineMask(across, line);
+		int newTiles = BitBoard.span(first, last) & ~lineMask;
+		if (newTiles == 0) {
+			return ILLEGAL_MOVE;
+		}
+		// Буквы в занятых клетках должны совпадать с доской.
+		for (int pos = first; pos <= last; pos++) {
+			if ((lineMask & (1 << pos)) != 0 && bits.letterInLine(across, line, pos) != placement.letters[pos - first]) {
+				return ILLEGAL_MOVE;
+			}
+		}
+
+		// Первый ход: больше одной плитки и через центральную клетку.
+		boolean firstMove = bits.isEmpty();
+		if (firstMove && (Integer.bitCount(newTiles) < 2 || line != CENTER || first > CENTER || last < CENTER)) {
+			return ILLEGAL_MOVE;
+		}
+
+		// Основное слово с учётом плиток, примыкающих к ходу по краям.
+		int start = BitBoard.runStart(lineMask, first);
+		int end = BitBoard.runEnd(lineMask | newTiles, last);
+		boolean touchesPastMoves = (lineMask & BitBoard.span(start, end)) != 0;
+		int total = 0;
+		if (end > start) {
+			int wordScore = scoreWord(board, placement, across, line, start, end);
+			if (wordScore == ILLEGAL_MOVE) {
+				return ILLEGAL_MOVE;
+			}
+			total += wordScore;
+		}
+
+		// Поперечные слова через каждую новую плитку.
+		int tiles = newTiles;
+		while (tiles != 0) {
+			int pos = Integer.numberOfTrailingZeros(tiles);
+			tiles &= tiles - 1;
+			int crossMask = bits.lineMask(!across, pos);
+			int crossStart = BitBoard.runStart(crossMask, line);
+			int crossEnd = BitBoard.runEnd(crossMask, line);
+			if (crossEnd == crossStart) {
+				continue;
+			}
+			touchesPastMoves = true;
+			int wordScore = scoreWord(board, placement, !across, pos, crossStart, crossEnd);
+			if (wordScore == ILLEGAL_MOVE) {
+				return ILLEGAL_MOVE;
+			}
+			total += wordScore;
+		}
+
+		if (!firstMove && !touchesPastMoves) {
+			return ILLEGAL_MOVE;
+		}
+		return total;
+	}
+
+	// Очки за слово в клетках start..end линии line или ILLEGAL_MOVE, если слова нет в словаре.
+	private int scoreWord(Board board, Placement placement, boolean across, int line, int start, int end)
+	{
+		if (!isWord(board, placement, across, line, start, end)) {
+			return ILLEGAL_MOVE;
+		}
+		PremiumLayout premiums = board.getPremiums();
+		int wordMultiply = 1;
+		int wordScore = 0;
+		for (int pos = start; pos <= end; pos++) {
+			int row = across ? line : pos;
+			int col = across ? pos : line;
+			Tile tile = board.cellMatrix[row][col].getTile();
+			if (tile != null) {
+				wordScore += tile.getPoints();
+			} else {
+				int cell = row * BitBoard.SIZE + col;
+				wordMultiply *= premiums.wordMultiplier(cell);
+				wordScore += placement.points[placement.indexOf(row, col)] * premiums.letterMultiplier(cell);
+			}
+		}
+		return wordScore * wordMultiply;
+	}
+
+	private boolean isWord(Board board, Placement placement, boolean across, int line, int start, int end)
+	{
+		return walkWord(dict.getLexicon(), board, placement, across, line, start, end)
+				|| (dict.hasUserWords() && walkWord(dict.getTrie(), board, placement, across, line, start, end));
+	}
+
+	// Проход по автомату буквами слова: с доски, а в пустых клетках — из placement.
+	private static boolean walkWord(Lexicon lexicon, Board board, Placement placement, boolean across, int line, int start, int end)
+	{
+		BitBoard bits = board.getBits();
+		int node = lexicon.root();
+		for (int pos = start; pos <= end && node != Lexicon.NO_NODE; pos++) {
+			char letter = bits.letterInLine(across, line, pos);
+			if (letter == 0) {
+				letter = across ? placement.letters[placement.indexOf(line, pos)] : placement.letters[placement.indexOf(pos, line)];
+			}
+			int index = letter - 'a';
+			if (index < 0 || index >= 26) {
+				return false;
+			}
+			node = lexicon.child(node, index);
+		}
+		return node != Lexicon.NO_NODE && lexicon.isTerminal(node);
+	}
+
+	// Обновляет перекрёстные проверки доски только в затронутых ходом строках и столбцах.
+	private void updateCrossChecks(int rows, int cols)
+	{
+		if (dict == null) {
+			return;
+		}
+		CrossCheckIndex index = board.getCrossChecks();
+		if (index == null || index.getLexicon() != dict.getLexicon()) {
+			index = new CrossCheckIndex(dict.getLexicon());
+			index.rebuild(board);
+			board.setCrossChecks(index);
+		} else {
+			index.update(board, rows, cols);
+		}
+	}
+
+	public void clearStacks()
+	{
+		recentlyPlayedTileStack.clear();
+	}
+
+	public void commitRecentlyPlayedCells()
+	{
+		while(!recentlyPlayedCellStack.isEmpty())
+		{
+			board.commit(recentlyPlayedCellStack.pop());
+		}
+	}
+
+	public void undoLastMove() {
+		// Проверяем, есть ли ходы для отмены
+		if (recentlyPlayedTileStack.isEmpty() || recentlyPlayedCellStack.isEmpty()) {
+			System.out.println("Nothing to undo.");
+			return; // Если нечего отменять, просто выходим
+		}
+
+		// Восстанавливаем плитку в стойке игрока; пустая плитка возвращается без буквы
+		Tile lastTile = recentlyPlayedTileStack.pop();
+		player.addTileToRack(lastTile.isBlank() ? Tile.blank() : lastTile);
+
+		// Очищаем клетку, на которой была размещена плитка
+		Cell lastCell = recentlyPlayedCellStack.pop();
+		lastCell.setTile(null);
+
+		System.out.println("Undo successful: Tile " + lastTile.getLetter() + " removed from board.");
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package edu.susu.scrabble;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * GADDAG — автомат для двусторонней генерации ходов (Гордон).
+ * Для каждого слова x·y (x непустое) хранится строка REV(x) ◇ y
+ * (без ◇, если y пусто). Генерация начинается с буквы на якоре, идёт влево
+ * по REV(x), затем по разделителю ◇ переходит вправо — левую часть слова
+ * больше не нужно подбирать перебором.
+ *
+ * Внутри это тот же минимальный автомат, что и Dawg, с 27-символьным
+ * алфавитом: буквы 0..25 и разделитель 26 (символ '{', идущий сразу за 'z').
+ * Занимает в несколько раз больше памяти, чем DAWG, поэтому строится по
+ * требованию (Dictionary.getGaddag).
+ */
+public class Gaddag {
+
+    public static final int SEPARATOR = 26;
+    private static final char SEPARATOR_CHAR = (char) ('a' + SEPARATOR);
+
+    private final Dawg automaton;
+
+    private Gaddag(Dawg automaton) {
+        this.automaton = automaton;
+    }
+
+    /**
+     * Строит GADDAG по всем словам лексикона. Строки подаются в DawgBuilder
+     * по порядку; чтобы не держать в памяти все строки сразу, они собираются
+     * корзинами по первой букве (букве на якоре).
+     */
+    public static Gaddag build(Lexicon lexicon) {
+        DawgBuilder builder = new DawgBuilder(SEPARATOR + 1);
+        char[] buffer = new char[64];
+        List<String> bucket = new ArrayList<>();
+
+        for (int letter = 0; letter < 26; letter++) {
+            bucket.clear();
+            collect(lexicon, lexicon.root(), buffer, 0, (char) ('a' + letter), bucket);
+            Collections.sort(bucket);
+            for (String s : bucket) {
+                builder.add(s);
+            }
+        }
+        return new Gaddag(builder.build());
+    }
+
+    // Обходит все слова лексикона и добавляет строки GADDAG, начинающиеся с first.
+    private static void collect(Lexicon lexicon, int node, char[] word, int length, char first, List<String> out) {
+        if (lexicon.isTerminal(node)) {
+            StringBuilder sb = new StringBuilder(length + 1);
+            for (int i = 0; i < length; i++) {
+                if (word[i] != first) {
+                    continue;
+                }
+                sb.setLength(0);
+                for (int j = i; j >= 0; j--) {
+                    sb.append(word[j]);
+                }
+                if (i < length - 1) {
+                    sb.append(SEPARATOR_CHAR).append(word, i + 1, length - i - 1);
+                }
+                out.add(sb.toString());
+            }
+        }
+
+        int letters = lexicon.childMask(node);
+        while (letters != 0) {
+            int l = Integer.numberOfTrailingZeros(letters);
+            letters &= letters - 1;
+            word[length] = (char) ('a' + l);
+            collect(lexicon, lexicon.child(node, l), word, length + 1, first, out);
+        }
+    }
+
+    public int root() {
+        return automaton.root();
+    }
+
+    /**
+     * Переход по букве (0..25) или Lexicon.NO_NODE.
+     */
+    public int child(int node, int letter) {
+        return automaton.child(node, letter);
+    }
+
+    /**
+     * Переход по разделителю ◇ (смена направления с «влево» на «вправо»).
+     */
+    public int separator(int node) {
+        return automaton.child(node, SEPARATOR);
+    }
+
+    /**
+     * Маска букв (без разделителя), по которым есть переходы.
+     */
+    public int childMask(int node) {
+        return automaton.childMask(node);
+    }
+
+    public boolean isTerminal(int node) {
+        return automaton.isTerminal(node);
+    }
+
+    public int nodeCount() {
+        return automaton.nodeCount();
+    }
+
+    public long estimatedHeapBytes() {
+        return automaton.estimatedHeapBytes();
+    }
+}
@@ -0,0 +1,169 @@
+package edu.susu.scrabble;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Таблица ценности «остатка» — плиток, которые остаются на стойке после хода.
+ * Ход ранжируется по сумме очков и ценности остатка: сохранить пустую плитку или S
+ * выгоднее, чем остаться с Q и двумя U.
+ *
+ * Ключ — каноническая запись мультимножества плиток: символы по возрастанию
+ * (буквы 0..25, пустая плитка 26), по 5 бит на символ (символ + 1), так что
+ * порядок плиток на стойке не важен, а пустой остаток имеет ключ 0.
+ * Поиск — открытая адресация по массивам long/float, без объектов на запись.
+ * Для остатков, которых нет в таблице, берётся сумма ценностей отдельных плиток.
+ *
+ * Формат файла (big-endian): MAGIC, VERSION, число записей n, затем n пар
+ * (long ключ, float ценность).
+ */
+public class LeaveTable {
+
+    static final int MAGIC = 0x4C454156; // "LEAV"
+    static final int VERSION = 1;
+
+    public static final int BLANK = Tile.BLANK;
+    public static final int SYMBOLS = 27;
+    private static final int MAX_TILES = 12; // 12 * 5 бит помещаются в long
+
+    private final long[] keys;
+    private final float[] values;
+    private final boolean[] used;
+    private final float[] singles = new float[SYMBOLS]; // ценность остатка из одной плитки
+    private final int size;
+    private final int mask;
+
+    private LeaveTable(int capacity) {
+        keys = new long[capacity];
+        values = new float[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private LeaveTable(long[] entryKeys, float[] entryValues, int count) {
+        int capacity = Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1;
+        keys = new long[capacity];
+        values = new float[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < count; i++) {
+            int slot = slot(entryKeys[i]);
+            while (used[slot] && keys[slot] != entryKeys[i]) {
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            keys[slot] = entryKeys[i];
+            values[slot] = entryValues[i];
+            if (entryKeys[i] != 0 && (entryKeys[i] >>> 5) == 0) {
+                singles[(int) entryKeys[i] - 1] = entryValues[i];
+            }
+        }
+        size = count;
+    }
+
+    /**
+     * Пустая таблица: ценность любого остатка 0, ходы ранжируются по очкам.
+     */
+    public static LeaveTable empty() {
+        return new LeaveTable(1);
+    }
+
+    public static LeaveTable load(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Не файл таблицы остатков");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Неподдерживаемая версия таблицы остатков: " + version);
+        }
+        int count = data.readInt();
+        long[] entryKeys = new long[count];
+        float[] entryValues = new float[count];
+        for (int i = 0; i < count; i++) {
+            entryKeys[i] = data.readLong();
+            entryValues[i] = data.readFloat();
+        }
+        return new LeaveTable(entryKeys, entryValues, count);
+    }
+
+    /**
+     * Записывает пары (ключ, ценность) в формате, который читает load.
+     */
+    public static void write(OutputStream out, long[] entryKeys, float[] entryValues, int count) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            data.writeLong(entryKeys[i]);
+            data.writeFloat(entryValues[i]);
+        }
+        data.flush();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Ценность остатка с ключом key (см. key(int[])).
+     */
+    public float value(long key) {
+        int slot = slot(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        // Нет в таблице — сумма ценностей отдельных плиток
+        float sum = 0;
+        for (long k = key; k != 0; k >>>= 5) {
+            sum += singles[(int) (k & 31) - 1];
+        }
+        return sum;
+    }
+
+    /**
+     * Ценность остатка по числу плиток каждого символа (counts[0..25] — буквы, counts[26] — пустые).
+     */
+    public float value(int[] counts) {
+        return value(key(counts));
+    }
+
+    /**
+     * Канонический ключ мультимножества плиток.
+     */
+    public static long key(int[] counts) {
+        long key = 0;
+        int tiles = 0;
+        for (int symbol = 0; symbol < SYMBOLS; symbol++) {
+            for (int n = counts[symbol]; n > 0; n--) {
+                if (++tiles > MAX_TILES) {
+                    throw new IllegalArgumentException("Слишком много плиток для ключа: " + tiles);
+                }
+                key = (key << 5) | (symbol + 1);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Символ плитки для счётчиков: буква 0..25 или BLANK.
+     */
+    public static int symbolOf(Tile tile) {
+        return tile.isBlank() ? BLANK : tile.code();
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
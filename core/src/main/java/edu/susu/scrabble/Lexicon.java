@@ -0,0 +1,94 @@
+package edu.susu.scrabble;
+
+/**
+ * Общий интерфейс словарного автомата (Trie, DAWG).
+ * Узлы адресуются целыми числами, буквы — индексами 0..25 ('a'..'z'),
+ * поэтому обход не создаёт объектов и не зависит от реализации.
+ */
+public interface Lexicon {
+
+    int NO_NODE = -1;
+
+    int root();
+
+    /**
+     * Переход по букве letter (0..25) или NO_NODE, если такого перехода нет.
+     */
+    int child(int node, int letter);
+
+    /**
+     * Битовая маска букв, по которым из узла есть переходы (бит i — буква 'a' + i).
+     */
+    int childMask(int node);
+
+    /**
+     * Заканчивается ли в узле слово.
+     */
+    boolean isTerminal(int node);
+
+    /**
+     * Проверка слова в нижнем регистре.
+     */
+    boolean contains(CharSequence word);
+
+    /**
+     * Проверка символов word[start, end) в любом регистре. Регистр приводится
+     * по ходу обхода автомата, поэтому проверка не создаёт объектов.
+     */
+    default boolean containsIgnoreCase(CharSequence word, int start, int end) {
+        int node = root();
+        for (int i = start; i < end && node != NO_NODE; i++) {
+            int letter = letterIndex(word.charAt(i));
+            if (letter < 0) {
+                return false;
+            }
+            node = child(node, letter);
+        }
+        return node != NO_NODE && isTerminal(node);
+    }
+
+    /**
+     * То же для chars[offset, offset + length).
+     */
+    default boolean containsIgnoreCase(char[] chars, int offset, int length) {
+        int node = root();
+        for (int i = offset; i < offset + length && node != NO_NODE; i++) {
+            int letter = letterIndex(chars[i]);
+            if (letter < 0) {
+                return false;
+            }
+            node = child(node, letter);
+        }
+        return node != NO_NODE && isTerminal(node);
+    }
+
+    /**
+     * То же для ASCII-байтов bytes[offset, offset + length) (например, букв BitBoard).
+     */
+    default boolean containsIgnoreCase(byte[] bytes, int offset, int length) {
+        int node = root();
+        for (int i = offset; i < offset + length && node != NO_NODE; i++) {
+            int letter = letterIndex(bytes[i]);
+            if (letter < 0) {
+                return false;
+            }
+            node = child(node, letter);
+        }
+        return node != NO_NODE && isTerminal(node);
+    }
+
+    /**
+     * Индекс буквы 0..25 для 'a'..'z' и 'A'..'Z', иначе -1.
+     */
+    static int letterIndex(int c) {
+        int letter = (c | 0x20) - 'a'; // 'A'..'Z' -> 'a'..'z'
+        return letter >= 0 && letter < 26 ? letter : -1;
+    }
+
+    int nodeCount();
+
+    /**
+     * Приблизительный объём памяти, занимаемый структурой, в байтах.
+     */
+    long estimatedHeapBytes();
+}
@@ -0,0 +1,58 @@
+package edu.susu.scrabble;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Компилятор словаря: file.txt -> dict.bin (LexiconFormat).
+ * Вызывается задачей compileLexicon модуля app при сборке, можно запустить и вручную:
+ *   java edu.susu.scrabble.LexiconCompiler file.txt dict.bin
+ */
+public final class LexiconCompiler {
+
+    private LexiconCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Использование: LexiconCompiler <file.txt> <dict.bin>");
+            System.exit(1);
+        }
+        compile(new File(args[0]), new File(args[1]));
+    }
+
+    public static Dawg compile(File wordList, File output) throws IOException {
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(wordList), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toLowerCase();
+                if (LexiconFormat.isValidWord(word)) {
+                    words.add(word);
+                }
+            }
+        }
+        Collections.sort(words);
+
+        DawgBuilder builder = new DawgBuilder(26);
+        for (String word : words) {
+            builder.add(word);
+        }
+        Dawg dawg = builder.build();
+
+        File parent = output.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Не удалось создать каталог " + parent);
+        }
+        LexiconFormat.write(dawg, output);
+        return dawg;
+    }
+}
@@ -0,0 +1,79 @@
+package edu.susu.scrabble;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Двоичный формат словаря (dict.bin) — DAWG, записанный плоскими int-массивами.
+ * Все числа — big-endian int:
+ *   magic, version, nodeCount, edgeCount, root,
+ *   masks[nodeCount], firstEdge[nodeCount], edges[edgeCount].
+ * Файл готовится на этапе сборки (LexiconCompiler) и читается MappedLexicon
+ * без разбора: узлы запрашиваются прямо из отображённой памяти.
+ */
+final class LexiconFormat {
+
+    static final int MAGIC = 0x44415747; // "DAWG"
+    static final int VERSION = 1;
+    static final int HEADER_INTS = 5;
+
+    private LexiconFormat() {
+    }
+
+    static void write(Dawg dawg, File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(dawg.masks.length);
+            out.writeInt(dawg.edges.length);
+            out.writeInt(dawg.root);
+            for (int mask : dawg.masks) {
+                out.writeInt(mask);
+            }
+            for (int first : dawg.firstEdge) {
+                out.writeInt(first);
+            }
+            for (int edge : dawg.edges) {
+                out.writeInt(edge);
+            }
+        }
+    }
+
+    /**
+     * Проверяет заголовок и размер буфера; бросает IOException, если файл не наш
+     * или повреждён.
+     */
+    static void checkHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_INTS * 4 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Не файл словаря: неверная сигнатура");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Неподдерживаемая версия словаря: " + buffer.getInt(4));
+        }
+        long expected = 4L * (HEADER_INTS + 2L * buffer.getInt(8) + buffer.getInt(12));
+        if (buffer.capacity() < expected) {
+            throw new IOException("Файл словаря обрезан: " + buffer.capacity() + " из " + expected + " байт");
+        }
+    }
+
+    /**
+     * Слово пригодно для словаря: непустое, только строчные латинские буквы.
+     */
+    static boolean isValidWord(CharSequence word) {
+        if (word.length() == 0) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+package edu.susu.scrabble;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Словарь в формате LexiconFormat, читаемый прямо из буфера
+ * (обычно MappedByteBuffer, полученный через FileChannel.map).
+ * Ничего не разбирает и не создаёт объектов на узел: каждый запрос —
+ * несколько чтений int по абсолютному индексу.
+ */
+public class MappedLexicon implements Lexicon {
+
+    private static final int LETTERS = (1 << 26) - 1;
+
+    private final IntBuffer data;
+    private final int nodeCount;
+    private final int root;
+    private final int firstEdgeOffset;
+    private final int edgesOffset;
+    private final int sizeInBytes;
+
+    public MappedLexicon(ByteBuffer buffer) throws IOException {
+        LexiconFormat.checkHeader(buffer);
+        data = buffer.asIntBuffer();
+        nodeCount = data.get(2);
+        root = data.get(4);
+        firstEdgeOffset = LexiconFormat.HEADER_INTS + nodeCount;
+        edgesOffset = firstEdgeOffset + nodeCount;
+        sizeInBytes = buffer.capacity();
+    }
+
+    @Override
+    public int root() {
+        return root;
+    }
+
+    @Override
+    public int child(int node, int letter) {
+        int mask = data.get(LexiconFormat.HEADER_INTS + node);
+        int bit = 1 << letter;
+        if ((mask & bit) == 0) {
+            return NO_NODE;
+        }
+        return data.get(edgesOffset + data.get(firstEdgeOffset + node) + Integer.bitCount(mask & (bit - 1)));
+    }
+
+    @Override
+    public int childMask(int node) {
+        return data.get(LexiconFormat.HEADER_INTS + node) & LETTERS;
+    }
+
+    @Override
+    public boolean isTerminal(int node) {
+        return (data.get(LexiconFormat.HEADER_INTS + node) & DawgBuilder.TERMINAL) != 0;
+    }
+
+    @Override
+    public boolean contains(CharSequence word) {
+        int node = root;
+        for (int i = 0; i < word.length() && node != NO_NODE; i++) {
+            int letter = word.charAt(i) - 'a';
+            if (letter < 0 || letter >= 26) {
+                return false;
+            }
+            node = child(node, letter);
+        }
+        return node != NO_NODE && isTerminal(node);
+    }
+
+    @Override
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public long estimatedHeapBytes() {
+        // данные лежат в отображённом файле, в куче только сам объект и IntBuffer
+        return 64;
+    }
+
+    /**
+     * Размер отображённого файла в байтах (память вне кучи).
+     */
+    public int mappedBytes() {
+        return sizeInBytes;
+    }
+}
@@ -0,0 +1,191 @@
+package edu.susu.scrabble;
+
+import java.util.List;
+
+/**
+ * Разбор хода за один проход по выложенным плиткам.
+ * Вместо проверки всех строк и столбцов доски (так проверял ход прежний Engine.checkBoard)
+ * и повторных обходов стека ходов анализатор:
+ * 1) определяет направление хода и проверяет, что плитки лежат подряд (с учётом плиток на доске);
+ * 2) собирает только слова, образованные ходом: основное и поперечные к каждой новой плитке;
+ * 3) проверяет, что ход касается уже лежащих плиток (кроме первого хода);
+ * 4) проверяет эти слова по словарю и считает очки теми же правилами, что и Engine
+ *    (getWordMultiplier/getLetterMultiplier).
+ * Границы слов, связность и касание прежних ходов считаются по битовым маскам
+ * Board.getBits(), без обхода соседних клеток.
+ * Доску не меняет; плитки хода должны уже лежать на доске.
+ * Объект переиспользуется между вызовами и не потокобезопасен.
+ */
+public class MoveAnalyzer {
+
+    private static final int SIZE = 15;
+    private static final int CENTER = 7;
+    // Основное слово + по одному поперечному на каждую плитку стойки
+    private static final int MAX_WORDS = 8;
+
+    private final Engine engine;
+
+    private final char[] letters = new char[SIZE];
+
+    // Слова, образованные ходом: начало, длина и направление
+    private final int[] wordRow = new int[MAX_WORDS];
+    private final int[] wordCol = new int[MAX_WORDS];
+    private final int[] wordLength = new int[MAX_WORDS];
+    private final boolean[] wordHorizontal = new boolean[MAX_WORDS];
+    private int wordCount;
+    private boolean touchesPastMoves;
+
+    private int score;
+    private boolean horizontal;
+    private String invalidWord;
+
+    public MoveAnalyzer(Engine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Проверяет ход из клеток cells (плитки уже выложены на engine.board).
+     * @return true, если ход допустим; тогда getScore() — очки за ход
+     */
+    public boolean analyze(List<Cell> cells) {
+        score = 0;
+        wordCount = 0;
+        touchesPastMoves = false;
+        invalidWord = null;
+
+        int count = cells.size();
+        // Первый ход должен состоять более чем из одной плитки.
+        if (count == 0 || (engine.initialMove && count == 1)) {
+            return false;
+        }
+        Board board = engine.board;
+        BitBoard bits = board.getBits();
+        // Центральная клетка должна быть занята.
+        if (!bits.isOccupied(CENTER, CENTER)) {
+            return false;
+        }
+
+        int minRow = SIZE, maxRow = -1, minCol = SIZE, maxCol = -1;
+        for (int i = 0; i < count; i++) {
+            Cell cell = cells.get(i);
+            int row = cell.getRow();
+            int col = cell.getCol();
+            minRow = Math.min(minRow, row);
+            maxRow = Math.max(maxRow, row);
+            minCol = Math.min(minCol, col);
+            maxCol = Math.max(maxCol, col);
+        }
+
+        boolean sameRow = minRow == maxRow;
+        boolean sameCol = minCol == maxCol;
+        if (!sameRow && !sameCol) {
+            return false;
+        }
+        // Между новыми плитками не должно быть пустых клеток.
+        int line = sameRow ? bits.rowMask(minRow) : bits.colMask(minCol);
+        int between = sameRow ? BitBoard.span(minCol, maxCol) : BitBoard.span(minRow, maxRow);
+        if ((line & between) != between) {
+            return false;
+        }
+
+        if (count == 1) {
+            // Одна плитка: слова в обе стороны.
+            horizontal = true;
+            addWord(bits, minRow, minCol, true);
+            addWord(bits, minRow, minCol, false);
+        } else {
+            horizontal = sameRow;
+            addWord(bits, minRow, minCol, horizontal);
+            for (int i = 0; i < count; i++) {
+                Cell cell = cells.get(i);
+                addWord(bits, cell.getRow(), cell.getCol(), !horizontal);
+            }
+        }
+
+        // Ход должен касаться плиток, выложенных раньше.
+        if (!engine.initialMove && !touchesPastMoves) {
+            return false;
+        }
+
+        int total = 0;
+        for (int w = 0; w < wordCount; w++) {
+            int wordScore = verifyAndScore(board, w);
+            if (wordScore < 0) {
+                return false;
+            }
+            total += wordScore;
+        }
+        score = total;
+        return true;
+    }
+
+    /**
+     * Очки за последний допустимый ход.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Направление последнего хода (ход из одной плитки считается горизонтальным).
+     */
+    public boolean isHorizontal() {
+        return horizontal;
+    }
+
+    /**
+     * Число слов, образованных последним ходом.
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Первое слово последнего хода, которого нет в словаре, или null.
+     */
+    public String getInvalidWord() {
+        return invalidWord;
+    }
+
+    // Находит слово через клетку (row, col) в заданном направлении и запоминает его, если в нём больше одной буквы.
+    private void addWord(BitBoard bits, int row, int col, boolean across) {
+        int mask = across ? bits.rowMask(row) : bits.colMask(col);
+        int pos = across ? col : row;
+        int start = BitBoard.runStart(mask, pos);
+        int end = BitBoard.runEnd(mask, pos);
+        if (end == start) {
+            return;
+        }
+        int line = across ? row : col;
+        if ((bits.committedLineMask(across, line) & BitBoard.span(start, end)) != 0) {
+            touchesPastMoves = true;
+        }
+        wordRow[wordCount] = across ? row : start;
+        wordCol[wordCount] = across ? start : col;
+        wordLength[wordCount] = end - start + 1;
+        wordHorizontal[wordCount] = across;
+        wordCount++;
+    }
+
+    // Проверяет слово по словарю и возвращает его очки или -1, если слова нет в словаре.
+    private int verifyAndScore(Board board, int w) {
+        int dr = wordHorizontal[w] ? 0 : 1;
+        int dc = wordHorizontal[w] ? 1 : 0;
+        int length = wordLength[w];
+        int r = wordRow[w], c = wordCol[w];
+        int wordMultiply = 1;
+        int wordScore = 0;
+        for (int i = 0; i < length; i++, r += dr, c += dc) {
+            Cell cell = board.cellMatrix[r][c];
+            Tile tile = cell.getTile();
+            letters[i] = board.getBits().letterAt(r, c);
+            wordMultiply *= engine.getWordMultiplier(cell);
+            wordScore += tile.getPoints() * engine.getLetterMultiplier(cell);
+        }
+        if (!engine.dict.verifyWord(letters, 0, length)) {
+            invalidWord = new String(letters, 0, length);
+            return -1;
+        }
+        return wordScore * wordMultiply;
+    }
+}
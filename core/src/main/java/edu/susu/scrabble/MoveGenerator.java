@@ -0,0 +1,531 @@
+package edu.susu.scrabble;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Генератор ходов по алгоритму Аппеля–Якобсона.
+ * Слова строятся обходом словарного автомата (Lexicon) от «якорных» клеток
+ * (пустых клеток рядом с уже выложенными плитками) с учётом перекрёстных
+ * ограничений, поэтому на выходе получаются только допустимые расстановки,
+ * в том числе слова, проходящие через плитки, уже лежащие на доске.
+ * Если включён GADDAG (см. конструктор), слово растёт от якоря в обе стороны
+ * по GADDAG и левую часть не нужно подбирать перебором по префиксам.
+ * Слова, добавленные пользователем, лежат не в основном автомате, а в Trie
+ * словаря (Dictionary.hasUserWords); по нему от каждого якоря идёт второй
+ * проход Аппеля–Якобсона, и перекрёстные проверки учитывают оба автомата.
+ * Экземпляр хранит рабочее состояние между вызовами и не потокобезопасен.
+ */
+public class MoveGenerator {
+
+    private static final int SIZE = 15;
+    private static final int CENTER = 7;
+    private static final int BLANK = Tile.BLANK; // индекс пустой плитки ("-") в счётчиках стойки
+
+    /**
+     * Ход, найденный генератором.
+     */
+    public static class Move {
+        public String word;          // слово целиком (вместе с буквами на доске), в нижнем регистре
+        public int startRow;
+        public int startCol;
+        public boolean isHorizontal;
+        public int tilesPlaced;      // сколько плиток выкладывается со стойки
+        public int blankMask;        // бит i установлен, если i-я буква слова — пустая плитка
+    }
+
+    private final Dictionary dictionary;
+    private final Lexicon lexicon;
+    private final Gaddag gaddag; // null — генерация по Lexicon (Аппель–Якобсон)
+    private Lexicon overlay;     // слова пользователя (Dictionary.getTrie), null — их нет
+    private Lexicon walk;        // автомат текущего прохода Аппеля–Якобсона: lexicon или overlay
+
+    // Рабочее состояние одного вызова generateMoves
+    private Board board;
+    private boolean horizontal;
+    private int line;
+    private final boolean[] anchors = new boolean[SIZE * SIZE];
+    private final int[] crossChecksAcross = new int[SIZE * SIZE]; // для горизонтальных ходов
+    private final int[] crossChecksDown = new int[SIZE * SIZE];   // для вертикальных ходов
+    private final int[] rackCounts = new int[27];
+    private final char[] word = new char[SIZE];
+    private final char[] lineBoard = new char[SIZE];     // буквы на доске в текущей линии, 0 — пусто
+    private final char[] lineLetters = new char[SIZE];   // буквы слова по клеткам линии (режим GADDAG)
+    private final boolean[] lineBlanks = new boolean[SIZE];
+    private List<Move> moves;
+    private long deadline;       // System.nanoTime(), после которого генерация прекращается
+    private boolean hasDeadline;
+    private boolean complete;    // последний вызов generateMoves перебрал все якоря
+    private CrossCheckIndex checkIndex; // готовые проверки и якоря доски, если они актуальны, иначе null
+
+    public MoveGenerator(Dictionary dictionary) {
+        this(dictionary, false);
+    }
+
+    /**
+     * @param useGaddag генерировать ходы по GADDAG: быстрее на заполненной доске,
+     *                  но GADDAG занимает в несколько раз больше памяти, чем DAWG
+     */
+    public MoveGenerator(Dictionary dictionary, boolean useGaddag) {
+        this.dictionary = dictionary;
+        this.lexicon = dictionary.getLexicon();
+        this.gaddag = useGaddag ? dictionary.getGaddag() : null;
+    }
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    public boolean usesGaddag() {
+        return gaddag != null;
+    }
+
+    /**
+     * Возвращает все допустимые ходы для данной стойки в обоих направлениях.
+     * Если центральная клетка пуста, единственный якорь — центр (первый ход).
+     */
+    public List<Move> generateMoves(Board board, Tile[] rack) {
+        return generate(board, rack, false, 0);
+    }
+
+    /**
+     * То же, но с ограничением по времени: после deadlineNanos (по System.nanoTime)
+     * новые якоря не обрабатываются и возвращаются уже найденные ходы.
+     * Линии перебираются от центра к краям, по горизонтали и вертикали поочерёдно,
+     * чтобы при нехватке времени были просмотрены самые «населённые» части доски.
+     * Был ли перебор полным — см. isComplete().
+     */
+    public List<Move> generateMoves(Board board, Tile[] rack, long deadlineNanos) {
+        return generate(board, rack, true, deadlineNanos);
+    }
+
+    /**
+     * Ходы только в одной линии: строке line при horizontal, иначе в столбце line.
+     * Перекрёстные проверки считаются лишь для этой линии, поэтому разные линии
+     * можно обрабатывать независимо, каждую своим генератором (ParallelMoveSearch).
+     */
+    public List<Move> generateMovesInLine(Board board, Tile[] rack, boolean horizontal, int line) {
+        this.board = board;
+        this.checkIndex = usableIndex(board);
+        this.overlay = dictionary.hasUserWords() ? dictionary.getTrie() : null;
+        this.moves = new ArrayList<>();
+        this.hasDeadline = false;
+        this.complete = true;
+
+        fillRackCounts(rack);
+        findAnchors();
+        this.horizontal = horizontal;
+        this.line = line;
+        computeLineCrossChecks(line);
+        generateLine();
+
+        this.board = null;
+        this.checkIndex = null;
+        this.overlay = null;
+        List<Move> result = moves;
+        moves = null;
+        return result;
+    }
+
+    /**
+     * Перебрал ли последний вызов generateMoves все якоря (не остановлен по времени).
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private List<Move> generate(Board board, Tile[] rack, boolean hasDeadline, long deadlineNanos) {
+        this.board = board;
+        this.checkIndex = usableIndex(board);
+        this.overlay = dictionary.hasUserWords() ? dictionary.getTrie() : null;
+        this.moves = new ArrayList<>();
+        this.hasDeadline = hasDeadline;
+        this.deadline = deadlineNanos;
+        this.complete = true;
+
+        fillRackCounts(rack);
+        findAnchors();
+
+        horizontal = true;
+        computeCrossChecks();
+        horizontal = false;
+        computeCrossChecks();
+
+        // Линии от центра к краям: 7, 6, 8, 5, 9...
+        for (int i = 0; i < SIZE && complete; i++) {
+            line = CENTER + ((i & 1) == 0 ? i / 2 : -(i / 2 + 1));
+            horizontal = true;
+            generateLine();
+            horizontal = false;
+            generateLine();
+        }
+
+        this.board = null;
+        this.checkIndex = null;
+        this.overlay = null;
+        List<Move> result = moves;
+        moves = null;
+        return result;
+    }
+
+    // Индекс перекрёстных проверок доски, если он построен по тому же словарю и не устарел.
+    private CrossCheckIndex usableIndex(Board board) {
+        CrossCheckIndex index = board.getCrossChecks();
+        if (index != null && index.getLexicon() == lexicon && index.isCurrent(board)) {
+            return index;
+        }
+        return null;
+    }
+
+    private void fillRackCounts(Tile[] rack) {
+        for (int i = 0; i < rackCounts.length; i++) {
+            rackCounts[i] = 0;
+        }
+        for (Tile t : rack) {
+            if (t == null) {
+                continue;
+            }
+            rackCounts[t.isBlank() ? BLANK : t.code()]++;
+        }
+    }
+
+    // Якорь — пустая клетка, у которой есть занятый сосед по горизонтали или вертикали.
+    private void findAnchors() {
+        BitBoard bits = board.getBits();
+        boolean emptyBoard = !bits.isOccupied(CENTER, CENTER);
+
+        for (int r = 0; r < SIZE; r++) {
+            int mask;
+            if (emptyBoard) {
+                mask = r == CENTER ? 1 << CENTER : 0;
+            } else {
+                mask = checkIndex != null ? checkIndex.anchorMask(r) : bits.anchorMask(r);
+            }
+            for (int c = 0; c < SIZE; c++) {
+                anchors[r * SIZE + c] = (mask & (1 << c)) != 0;
+            }
+        }
+    }
+
+    // Буква в клетке (line, pos) в системе координат текущего направления; 0 — пусто.
+    private char letterAt(int ln, int pos) {
+        return board.getBits().letterInLine(horizontal, ln, pos);
+    }
+
+    private boolean isAnchor(int ln, int pos) {
+        return horizontal ? anchors[ln * SIZE + pos] : anchors[pos * SIZE + ln];
+    }
+
+    // Ходы в линии line текущего направления.
+    private void generateLine() {
+        for (int pos = 0; pos < SIZE; pos++) {
+            lineBoard[pos] = letterAt(line, pos);
+        }
+        for (int pos = 0; pos < SIZE; pos++) {
+            if (!isAnchor(line, pos)) {
+                continue;
+            }
+            if (hasDeadline && System.nanoTime() - deadline > 0) {
+                complete = false;
+                return;
+            }
+
+            if (gaddag != null) {
+                goLeft(pos, pos, gaddag.root(), 0);
+            } else {
+                generateAt(pos, lexicon);
+            }
+            if (overlay != null) {
+                generateAt(pos, overlay);
+            }
+        }
+    }
+
+    // Ходы от якоря pos по автомату words (Аппель–Якобсон).
+    private void generateAt(int pos, Lexicon words) {
+        walk = words;
+        if (pos > 0 && lineBoard[pos - 1] != 0) {
+            // Слева от якоря лежат плитки — префикс задан доской.
+            int start = pos - 1;
+            while (start > 0 && lineBoard[start - 1] != 0) {
+                start--;
+            }
+            int node = walk.root();
+            int len = 0;
+            for (int p = start; p < pos && node != Lexicon.NO_NODE; p++) {
+                char c = lineBoard[p];
+                word[len++] = c;
+                node = walk.child(node, c - 'a');
+            }
+            if (node != Lexicon.NO_NODE) {
+                extendRight(len, node, pos, pos, 0, 0);
+            }
+        } else {
+            // Слева свободно — префикс собираем со стойки, но не заходим на предыдущий якорь.
+            int limit = 0;
+            for (int p = pos - 1; p >= 0 && lineBoard[p] == 0 && !isAnchor(line, p); p--) {
+                limit++;
+            }
+            leftPart(0, walk.root(), limit, pos, 0);
+        }
+    }
+
+    private void leftPart(int len, int node, int limit, int anchor, int blankMask) {
+        extendRight(len, node, anchor, anchor, blankMask, len);
+
+        if (limit == 0) {
+            return;
+        }
+        int letters = walk.childMask(node);
+        if (rackCounts[BLANK] == 0) {
+            letters &= rackMask();
+        }
+        while (letters != 0) {
+            int l = Integer.numberOfTrailingZeros(letters);
+            letters &= letters - 1;
+            int child = walk.child(node, l);
+            word[len] = (char) ('a' + l);
+            if (rackCounts[l] > 0) {
+                rackCounts[l]--;
+                leftPart(len + 1, child, limit - 1, anchor, blankMask);
+                rackCounts[l]++;
+            }
+            if (rackCounts[BLANK] > 0) {
+                rackCounts[BLANK]--;
+                leftPart(len + 1, child, limit - 1, anchor, blankMask | (1 << len));
+                rackCounts[BLANK]++;
+            }
+        }
+    }
+
+    private void extendRight(int len, int node, int pos, int anchor, int blankMask, int placed) {
+        if (pos < SIZE) {
+            char existing = lineBoard[pos];
+            if (existing != 0) {
+                int child = walk.child(node, existing - 'a');
+                if (child != Lexicon.NO_NODE) {
+                    word[len] = existing;
+                    extendRight(len + 1, child, pos + 1, anchor, blankMask, placed);
+                }
+                return;
+            }
+        }
+
+        // Слово из обоих автоматов записываем один раз — в проходе по основному.
+        if (pos > anchor && walk.isTerminal(node)
+                && (walk == lexicon || !lexicon.containsIgnoreCase(word, 0, len))) {
+            recordMove(len, pos - len, blankMask, placed);
+        }
+        if (pos >= SIZE) {
+            return;
+        }
+
+        int letters = walk.childMask(node) & allowedAt(pos);
+        if (rackCounts[BLANK] == 0) {
+            letters &= rackMask();
+        }
+        while (letters != 0) {
+            int l = Integer.numberOfTrailingZeros(letters);
+            letters &= letters - 1;
+            int child = walk.child(node, l);
+            word[len] = (char) ('a' + l);
+            if (rackCounts[l] > 0) {
+                rackCounts[l]--;
+                extendRight(len + 1, child, pos + 1, anchor, blankMask, placed + 1);
+                rackCounts[l]++;
+            }
+            if (rackCounts[BLANK] > 0) {
+                rackCounts[BLANK]--;
+                extendRight(len + 1, child, pos + 1, anchor, blankMask | (1 << len), placed + 1);
+                rackCounts[BLANK]++;
+            }
+        }
+    }
+
+    /*
+        Генерация по GADDAG. Каждый ход порождается от самого левого якоря,
+        который он занимает (как и в Аппеле–Якобсоне), поэтому влево от якоря
+        плитки на другие якоря не кладём.
+    */
+
+    // Идём влево: pos — очередная клетка слева от якоря (в начале — сам якорь).
+    private void goLeft(int pos, int anchor, int node, int placed) {
+        char existing = lineBoard[pos];
+        if (existing != 0) {
+            int child = gaddag.child(node, existing - 'a');
+            if (child != Lexicon.NO_NODE) {
+                lineLetters[pos] = existing;
+                lineBlanks[pos] = false;
+                afterLeft(pos, anchor, child, placed);
+            }
+            return;
+        }
+        if (pos != anchor && isAnchor(line, pos)) {
+            return;
+        }
+
+        int letters = gaddag.childMask(node) & allowedAt(pos);
+        if (rackCounts[BLANK] == 0) {
+            letters &= rackMask();
+        }
+        while (letters != 0) {
+            int l = Integer.numberOfTrailingZeros(letters);
+            letters &= letters - 1;
+            int child = gaddag.child(node, l);
+            lineLetters[pos] = (char) ('a' + l);
+            if (rackCounts[l] > 0) {
+                rackCounts[l]--;
+                lineBlanks[pos] = false;
+                afterLeft(pos, anchor, child, placed + 1);
+                rackCounts[l]++;
+            }
+            if (rackCounts[BLANK] > 0) {
+                rackCounts[BLANK]--;
+                lineBlanks[pos] = true;
+                afterLeft(pos, anchor, child, placed + 1);
+                rackCounts[BLANK]++;
+            }
+        }
+    }
+
+    private void afterLeft(int pos, int anchor, int node, int placed) {
+        boolean leftFree = pos == 0 || lineBoard[pos - 1] == 0;
+        boolean rightFree = anchor == SIZE - 1 || lineBoard[anchor + 1] == 0;
+
+        if (leftFree && rightFree && gaddag.isTerminal(node)) {
+            recordLineMove(pos, anchor, placed);
+        }
+        if (pos > 0) {
+            goLeft(pos - 1, anchor, node, placed);
+        }
+        // Левая часть закончена — через разделитель переходим вправо от якоря.
+        if (leftFree && anchor < SIZE - 1) {
+            int separator = gaddag.separator(node);
+            if (separator != Lexicon.NO_NODE) {
+                goRight(anchor + 1, pos, separator, placed);
+            }
+        }
+    }
+
+    // Идём вправо: pos — очередная клетка справа, left — начало слова.
+    private void goRight(int pos, int left, int node, int placed) {
+        char existing = lineBoard[pos];
+        if (existing != 0) {
+            int child = gaddag.child(node, existing - 'a');
+            if (child != Lexicon.NO_NODE) {
+                lineLetters[pos] = existing;
+                lineBlanks[pos] = false;
+                afterRight(pos, left, child, placed);
+            }
+            return;
+        }
+
+        int letters = gaddag.childMask(node) & allowedAt(pos);
+        if (rackCounts[BLANK] == 0) {
+            letters &= rackMask();
+        }
+        while (letters != 0) {
+            int l = Integer.numberOfTrailingZeros(letters);
+            letters &= letters - 1;
+            int child = gaddag.child(node, l);
+            lineLetters[pos] = (char) ('a' + l);
+            if (rackCounts[l] > 0) {
+                rackCounts[l]--;
+                lineBlanks[pos] = false;
+                afterRight(pos, left, child, placed + 1);
+                rackCounts[l]++;
+            }
+            if (rackCounts[BLANK] > 0) {
+                rackCounts[BLANK]--;
+                lineBlanks[pos] = true;
+                afterRight(pos, left, child, placed + 1);
+                rackCounts[BLANK]++;
+            }
+        }
+    }
+
+    private void afterRight(int pos, int left, int node, int placed) {
+        boolean rightFree = pos == SIZE - 1 || lineBoard[pos + 1] == 0;
+
+        if (rightFree && gaddag.isTerminal(node)) {
+            recordLineMove(left, pos, placed);
+        }
+        if (pos < SIZE - 1) {
+            goRight(pos + 1, left, node, placed);
+        }
+    }
+
+    // Перекрёстная проверка клетки pos текущей линии.
+    private int allowedAt(int pos) {
+        return horizontal ? crossChecksAcross[line * SIZE + pos] : crossChecksDown[pos * SIZE + line];
+    }
+
+    private void recordLineMove(int left, int right, int placed) {
+        int blankMask = 0;
+        for (int p = left; p <= right; p++) {
+            word[p - left] = lineLetters[p];
+            if (lineBlanks[p]) {
+                blankMask |= 1 << (p - left);
+            }
+        }
+        recordMove(right - left + 1, left, blankMask, placed);
+    }
+
+    // Маска букв, которые есть на стойке (без учёта пустых плиток).
+    private int rackMask() {
+        int mask = 0;
+        for (int l = 0; l < 26; l++) {
+            if (rackCounts[l] > 0) {
+                mask |= 1 << l;
+            }
+        }
+        return mask;
+    }
+
+    private void recordMove(int len, int startPos, int blankMask, int placed) {
+        Move move = new Move();
+        move.word = new String(word, 0, len);
+        move.isHorizontal = horizontal;
+        move.startRow = horizontal ? line : startPos;
+        move.startCol = horizontal ? startPos : line;
+        move.tilesPlaced = placed;
+        move.blankMask = blankMask;
+        moves.add(move);
+    }
+
+    /**
+     * Перекрёстные проверки: для каждой пустой клетки — маска букв, которые
+     * образуют допустимое слово в перпендикулярном направлении.
+     */
+    private void computeCrossChecks() {
+        for (int ln = 0; ln < SIZE; ln++) {
+            computeLineCrossChecks(ln);
+        }
+    }
+
+    private void computeLineCrossChecks(int ln) {
+        for (int pos = 0; pos < SIZE; pos++) {
+            int index = horizontal ? ln * SIZE + pos : pos * SIZE + ln;
+            int mask;
+            if (letterAt(ln, pos) != 0) {
+                mask = 0;
+            } else if (checkIndex != null) {
+                mask = checkIndex.allowed(horizontal, index);
+            } else {
+                mask = crossCheckAt(ln, pos);
+            }
+            if (overlay != null && letterAt(ln, pos) == 0 && mask != CrossCheckIndex.ALL_LETTERS) {
+                mask |= CrossCheckIndex.crossCheck(overlay, board.getBits(), horizontal, ln, pos);
+            }
+            if (horizontal) {
+                crossChecksAcross[index] = mask;
+            } else {
+                crossChecksDown[index] = mask;
+            }
+        }
+    }
+
+    private int crossCheckAt(int ln, int pos) {
+        return CrossCheckIndex.crossCheck(lexicon, board.getBits(), horizontal, ln, pos);
+    }
+}
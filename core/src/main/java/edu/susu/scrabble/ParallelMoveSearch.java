@@ -0,0 +1,242 @@
+package edu.susu.scrabble;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Параллельный поиск хода: 15 строк и 15 столбцов доски — независимые задачи
+ * fork/join. У каждого потока пула свои MoveGenerator и Placement (ThreadLocal,
+ * создаются один раз и переиспользуются от поиска к поиску), так что рабочее
+ * состояние не разделяется между потоками, а доска, стойка и словарь только читаются. Очки считает Engine.scoreMove, который ничего не меняет.
+ * Лучшие ходы линий сливаются в общий список top-K.
+ *
+ * Доска и стойка не должны меняться, пока идёт поиск.
+ */
+public class ParallelMoveSearch {
+
+    private static final int LINES = 2 * BitBoard.SIZE; // 0..14 — строки, 15..29 — столбцы
+
+    private static ForkJoinPool sharedPool;
+
+    // Лучший ход — первый: больше очков с учётом остатка, затем больше очков,
+    // при равенстве — детерминированный порядок по позиции и слову
+    static final Comparator<AIPlayer.BestMove> BEST_FIRST = (a, b) -> {
+        if (a.equity != b.equity) {
+            return Float.compare(b.equity, a.equity);
+        }
+        if (a.score != b.score) {
+            return b.score - a.score;
+        }
+        if (a.isHorizontal != b.isHorizontal) {
+            return a.isHorizontal ? -1 : 1;
+        }
+        if (a.startRow != b.startRow) {
+            return a.startRow - b.startRow;
+        }
+        if (a.startCol != b.startCol) {
+            return a.startCol - b.startCol;
+        }
+        return a.word.compareTo(b.word);
+    };
+
+    private final ForkJoinPool pool;
+    private final Dictionary dictionary;
+    private final boolean useGaddag;
+    private volatile boolean lastSearchComplete = true;
+    private volatile LeaveTable leaves = LeaveTable.empty();
+    private final ThreadLocal<LineWorker> workers = new ThreadLocal<LineWorker>() {
+        @Override
+        protected LineWorker initialValue() {
+            return new LineWorker();
+        }
+    };
+
+    public ParallelMoveSearch(Dictionary dictionary, boolean useGaddag) {
+        this(sharedPool(), dictionary, useGaddag);
+    }
+
+    public ParallelMoveSearch(ForkJoinPool pool, Dictionary dictionary, boolean useGaddag) {
+        this.pool = pool;
+        this.dictionary = dictionary;
+        this.useGaddag = useGaddag;
+    }
+
+    /**
+     * Общий пул на все ядра устройства; создаётся при первом обращении.
+     */
+    public static synchronized ForkJoinPool sharedPool() {
+        if (sharedPool == null) {
+            sharedPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return sharedPool;
+    }
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    public boolean usesGaddag() {
+        return useGaddag;
+    }
+
+    /**
+     * Таблица ценности остатков для ранжирования ходов (см. AIPlayer.setLeaveTable).
+     */
+    public void setLeaveTable(LeaveTable leaves) {
+        this.leaves = leaves;
+    }
+
+    /**
+     * До k лучших ходов (по убыванию очков с учётом ценности остатка) для стойки rack.
+     * Слова из excluded пропускаются. Если hasDeadline, линии, до которых дошла
+     * очередь после deadlineNanos (System.nanoTime), не просматриваются.
+     * Поиск прекращается и при прерывании вызывающего потока.
+     */
+    public List<AIPlayer.BestMove> findTopMoves(Board board, Engine engine, Tile[] rack, Set<String> excluded,
+                                                int k, boolean hasDeadline, long deadlineNanos) {
+        Search search = new Search(board, engine, rack.clone(), excluded, k, hasDeadline, deadlineNanos);
+        if (useGaddag) {
+            dictionary.getGaddag(); // строим заранее, а не в первой из задач
+        }
+        List<AIPlayer.BestMove> top = pool.invoke(new LineTask(search, 0, LINES));
+        lastSearchComplete = !search.cutShort.get();
+        return top;
+    }
+
+    /**
+     * false, если последний поиск был остановлен по времени или прерыванием.
+     */
+    public boolean wasLastSearchComplete() {
+        return lastSearchComplete;
+    }
+
+    // Рабочее состояние одного потока пула; задача линии не вкладывается в другую
+    // на том же потоке, так что генератор занят одной линией за раз.
+    private final class LineWorker {
+        final MoveGenerator generator = new MoveGenerator(dictionary, useGaddag);
+        final Placement placement = new Placement();
+        final int[] leaveCounts = new int[LeaveTable.SYMBOLS];
+    }
+
+    // Общие для всех задач одного поиска данные (только для чтения).
+    private final class Search {
+        final Board board;
+        final Engine engine;
+        final Tile[] rack;
+        final int[] rackCounts = new int[LeaveTable.SYMBOLS];
+        final LeaveTable leaves = ParallelMoveSearch.this.leaves;
+        final Set<String> excluded;
+        final int k;
+        final boolean hasDeadline;
+        final long deadline;
+        final Thread caller = Thread.currentThread();
+        final AtomicBoolean cutShort = new AtomicBoolean();
+
+        Search(Board board, Engine engine, Tile[] rack, Set<String> excluded, int k, boolean hasDeadline, long deadline) {
+            this.board = board;
+            this.engine = engine;
+            this.rack = rack;
+            AIPlayer.countRack(rack, rackCounts);
+            this.excluded = excluded;
+            this.k = k;
+            this.hasDeadline = hasDeadline;
+            this.deadline = deadline;
+        }
+
+        boolean shouldStop() {
+            return caller.isInterrupted() || (hasDeadline && System.nanoTime() - deadline > 0);
+        }
+
+        // Лучшие ходы одной линии; генератор и Placement — этого потока.
+        List<AIPlayer.BestMove> scanLine(int index) {
+            List<AIPlayer.BestMove> top = new ArrayList<>(k + 1);
+            if (shouldStop()) {
+                cutShort.set(true);
+                return top;
+            }
+            boolean horizontal = index < BitBoard.SIZE;
+            int line = horizontal ? index : index - BitBoard.SIZE;
+            LineWorker worker = workers.get();
+            Placement placement = worker.placement;
+            int[] leaveCounts = worker.leaveCounts;
+
+            for (MoveGenerator.Move move : worker.generator.generateMovesInLine(board, rack, horizontal, line)) {
+                if (excluded.contains(move.word)) {
+                    continue;
+                }
+                // Один ход — один вариант пустых плиток, иначе в top-K попадут повторы
+                if (!AIPlayer.isPlayableVariant(board, move, rackCounts, leaveCounts)) {
+                    continue;
+                }
+                placement.set(move.startRow, move.startCol, move.isHorizontal, move.word);
+                AIPlayer.fillTilePoints(board, rack, placement);
+                int score = engine.scoreMove(board, placement);
+                if (score <= 0) {
+                    continue;
+                }
+                float equity = score + AIPlayer.leaveValue(leaves, board, move, rackCounts, leaveCounts);
+                if (top.size() == k && equity < top.get(k - 1).equity) {
+                    continue;
+                }
+                AIPlayer.BestMove candidate = new AIPlayer.BestMove();
+                candidate.word = move.word;
+                candidate.startRow = move.startRow;
+                candidate.startCol = move.startCol;
+                candidate.isHorizontal = move.isHorizontal;
+                candidate.score = score;
+                candidate.equity = equity;
+                offer(top, candidate, k);
+            }
+            return top;
+        }
+    }
+
+    // Диапазон линий [from, to): делим пополам, пока не останется одна линия.
+    private static final class LineTask extends RecursiveTask<List<AIPlayer.BestMove>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final int from;
+        private final int to;
+
+        LineTask(Search search, int from, int to) {
+            this.search = search;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<AIPlayer.BestMove> compute() {
+            if (to - from == 1) {
+                return search.scanLine(from);
+            }
+            int mid = (from + to) >>> 1;
+            LineTask left = new LineTask(search, from, mid);
+            left.fork();
+            List<AIPlayer.BestMove> top = new LineTask(search, mid, to).compute();
+            for (AIPlayer.BestMove move : left.join()) {
+                offer(top, move, search.k);
+            }
+            return top;
+        }
+    }
+
+    // Вставляет ход в отсортированный список, оставляя не больше k лучших.
+    private static void offer(List<AIPlayer.BestMove> top, AIPlayer.BestMove move, int k) {
+        int i = top.size();
+        while (i > 0 && BEST_FIRST.compare(move, top.get(i - 1)) < 0) {
+            i--;
+        }
+        if (i < k) {
+            top.add(i, move);
+            if (top.size() > k) {
+                top.remove(k);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package edu.susu.scrabble;
+
+/**
+ * Компактное описание хода-кандидата для Engine.scoreMove: начальная клетка,
+ * направление и буквы по клеткам от начала. Клетки, где на доске уже лежит
+ * плитка, должны содержать ту же букву; в пустые клетки выкладываются новые
+ * плитки с очками из points.
+ * Объект изменяемый и рассчитан на повторное использование (set/setPoints),
+ * чтобы оценка кандидатов не создавала объектов.
+ */
+public class Placement {
+
+    public static final int MAX_LENGTH = 15;
+
+    public int startRow;
+    public int startCol;
+    public boolean isHorizontal;
+    public int length;                                  // число клеток от начальной, включая занятые
+    public final char[] letters = new char[MAX_LENGTH]; // строчные буквы по клеткам
+    public final int[] points = new int[MAX_LENGTH];    // очки новых плиток (для занятых клеток не используются)
+
+    /**
+     * Заполняет описание по слову; очки новых плиток обнуляются.
+     */
+    public Placement set(int startRow, int startCol, boolean isHorizontal, CharSequence word) {
+        this.startRow = startRow;
+        this.startCol = startCol;
+        this.isHorizontal = isHorizontal;
+        this.length = Math.min(word.length(), MAX_LENGTH);
+        for (int i = 0; i < length; i++) {
+            letters[i] = Character.toLowerCase(word.charAt(i));
+            points[i] = 0;
+        }
+        return this;
+    }
+
+    public void setPoints(int index, int tilePoints) {
+        points[index] = tilePoints;
+    }
+
+    /**
+     * Номер клетки (row, col) внутри описания, считая от начальной.
+     */
+    public int indexOf(int row, int col) {
+        return isHorizontal ? col - startCol : row - startRow;
+    }
+}
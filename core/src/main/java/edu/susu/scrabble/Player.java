@@ -127,4 +127,19 @@ public class Player
     {
     	return this.rack;
     }
+    
+    public int getRackPoints() //sum of tile points left in rack, subtracted from score at the end of the game
+    {
+    	int points = 0;
+    	
+    	for(int i = 0; i < rack.length; i++)
+    	{
+    		if(rack[i] != null)
+    		{
+    			points += rack[i].getPoints();
+    		}
+    	}
+    	
+    	return points;
+    }
 }
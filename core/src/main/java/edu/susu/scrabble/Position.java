@@ -0,0 +1,281 @@
+package edu.susu.scrabble;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Снимок позиции партии двух игроков: плитки на доске (и какие из них уже
+ * засчитаны прошлыми ходами), стойки, очки, содержимое мешка и номер хода.
+ * Из снимка восстанавливаются Board, Player и Bag (или сразу AIGame), так что
+ * замеры и настройка AI работают на одних и тех же позициях.
+ * Плитки (Tile) не меняются, поэтому снимок и восстановленная партия их разделяют.
+ * Мешок хранится как набор плиток по порядку букв (Bag.contents), без порядка
+ * выдачи: восстановленный мешок вынимает плитки в порядке своего seed, так что
+ * продолжение партии повторяется, только если seed тот же (newBag — seed 0).
+ *
+ * Набор позиций хранится в двоичном файле (big-endian): MAGIC, VERSION, число
+ * позиций, затем позиции (см. write). Собирает набор PositionHarvester.
+ */
+public final class Position {
+
+    static final int MAGIC = 0x504F5343; // "POSC"
+    static final int VERSION = 1;
+
+    private static final int SIZE = BitBoard.SIZE;
+
+    /**
+     * Вид позиции в наборе.
+     */
+    public enum Category {
+        EMPTY,     // пустая доска, первый ход
+        OPENING,   // после первых ходов
+        MIDGAME,   // середина партии
+        CONGESTED, // доска плотно занята, а мешок ещё не пуст
+        ENDGAME    // мешок пуст
+    }
+
+    public final String name;
+    public final Category category;
+    private final Tile[] cells = new Tile[SIZE * SIZE];     // row * 15 + col, null — пусто
+    private final boolean[] committed = new boolean[SIZE * SIZE];
+    private final Tile[][] racks = new Tile[2][7];
+    private final int[] scores = new int[2];
+    private final List<Tile> bag;
+    private final int turn; // чётный — ходит игрок 0
+
+    private Position(String name, Category category, List<Tile> bag, int turn) {
+        this.name = name;
+        this.category = category;
+        this.bag = bag;
+        this.turn = turn;
+    }
+
+    /**
+     * Снимок текущего состояния партии.
+     */
+    public static Position capture(String name, Category category, AIGame game) {
+        return capture(name, category, game.getBoard(),
+                new Player[] { game.getPlayer(0), game.getPlayer(1) }, game.getBag(), game.getTurn());
+    }
+
+    public static Position capture(String name, Category category, Board board, Player[] players, Bag bag, int turn) {
+        Position position = new Position(name, category, bag.contents(), turn);
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                Cell cell = board.cellMatrix[row][col];
+                position.cells[row * SIZE + col] = cell.getTile();
+                position.committed[row * SIZE + col] = board.isCommitted(cell);
+            }
+        }
+        for (int p = 0; p < 2; p++) {
+            position.racks[p] = players[p].getRack().clone();
+            position.scores[p] = Integer.parseInt(players[p].getScore());
+        }
+        return position;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public int tileCount() {
+        int count = 0;
+        for (Tile tile : cells) {
+            if (tile != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int bagSize() {
+        return bag.size();
+    }
+
+    /**
+     * Нет плиток, засчитанных прошлыми ходами: следующий ход — первый.
+     */
+    public boolean isInitialMove() {
+        for (boolean c : committed) {
+            if (c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Выкладывает плитки на пустую доску board и отмечает засчитанные клетки.
+     * Незасчитанные плитки (выложенный, но не проверенный ход) остаются незасчитанными.
+     */
+    public void applyTo(Board board) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == null) {
+                continue;
+            }
+            Cell cell = board.cellMatrix[i / SIZE][i % SIZE];
+            cell.setTile(cells[i]);
+            if (committed[i]) {
+                board.commit(cell);
+            }
+        }
+    }
+
+    /**
+     * Стойка и очки игрока index (0 или 1).
+     */
+    public void applyTo(Player player, int index) {
+        for (int i = 0; i < 7; i++) {
+            player.addTileToRackAt(racks[index][i], i);
+        }
+        player.setScore(scores[index]);
+    }
+
+    /**
+     * Мешок с сохранёнными плитками; при каждом восстановлении плитки вынимаются
+     * в одном и том же порядке (seed 0).
+     */
+    public Bag newBag() {
+        return newBag(0);
+    }
+
+    /**
+     * Мешок с сохранёнными плитками и заданным seed.
+     */
+    public Bag newBag(long seed) {
+        return new Bag(bag, seed);
+    }
+
+    /**
+     * Клетки с незасчитанными плитками (row * 15 + col).
+     */
+    int[] pendingCells() {
+        int[] pending = new int[cells.length];
+        int n = 0;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != null && !committed[i]) {
+                pending[n++] = i;
+            }
+        }
+        return Arrays.copyOf(pending, n);
+    }
+
+    public static List<Position> readAll(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Не файл набора позиций");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Неподдерживаемая версия набора позиций: " + version);
+        }
+        int count = data.readInt();
+        List<Position> positions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            positions.add(read(data));
+        }
+        return positions;
+    }
+
+    public static void writeAll(OutputStream out, List<Position> positions) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(positions.size());
+        for (Position position : positions) {
+            position.write(data);
+        }
+        data.flush();
+    }
+
+    // Имя, вид, номер хода, очки; занятые клетки (номер, засчитана ли, плитка);
+    // две стойки по 7 мест (пустое место — буква 0); мешок (число плиток, плитки по порядку букв).
+    private void write(DataOutputStream data) throws IOException {
+        data.writeUTF(name);
+        data.writeByte(category.ordinal());
+        data.writeShort(turn);
+        data.writeShort(scores[0]);
+        data.writeShort(scores[1]);
+        data.writeByte(tileCount());
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != null) {
+                data.writeByte(i);
+                data.writeBoolean(committed[i]);
+                writeTile(data, cells[i]);
+            }
+        }
+        for (Tile[] rack : racks) {
+            for (Tile tile : rack) {
+                writeTile(data, tile);
+            }
+        }
+        data.writeByte(bag.size());
+        for (Tile tile : bag) {
+            writeTile(data, tile);
+        }
+    }
+
+    private static Position read(DataInputStream data) throws IOException {
+        String name = data.readUTF();
+        Category category = Category.values()[data.readUnsignedByte()];
+        int turn = data.readUnsignedShort();
+        int score0 = data.readShort();
+        int score1 = data.readShort();
+        int occupied = data.readUnsignedByte();
+        Tile[] cells = new Tile[SIZE * SIZE];
+        boolean[] committed = new boolean[SIZE * SIZE];
+        for (int i = 0; i < occupied; i++) {
+            int cell = data.readUnsignedByte();
+            committed[cell] = data.readBoolean();
+            cells[cell] = readTile(data);
+        }
+        Tile[][] racks = new Tile[2][7];
+        for (Tile[] rack : racks) {
+            for (int i = 0; i < rack.length; i++) {
+                rack[i] = readTile(data);
+            }
+        }
+        int bagSize = data.readUnsignedByte();
+        List<Tile> bag = new ArrayList<>(bagSize);
+        for (int i = 0; i < bagSize; i++) {
+            bag.add(readTile(data));
+        }
+
+        Position position = new Position(name, category, bag, turn);
+        System.arraycopy(cells, 0, position.cells, 0, cells.length);
+        System.arraycopy(committed, 0, position.committed, 0, committed.length);
+        position.racks[0] = racks[0];
+        position.racks[1] = racks[1];
+        position.scores[0] = score0;
+        position.scores[1] = score1;
+        return position;
+    }
+
+    // Плитка — буква (0 — нет плитки) и очки. Буква в верхнем регистре — обычная плитка,
+    // в нижнем — пустая плитка, выложенная как эта буква, '-' — пустая плитка на стойке или в мешке.
+    private static void writeTile(DataOutputStream data, Tile tile) throws IOException {
+        if (tile == null) {
+            data.writeByte(0);
+            return;
+        }
+        data.writeByte(tile.isBlank() ? tile.letterChar() : tile.getLetter().charAt(0));
+        data.writeByte(tile.getPoints());
+    }
+
+    private static Tile readTile(DataInputStream data) throws IOException {
+        int letter = data.readUnsignedByte();
+        if (letter == 0) {
+            return null;
+        }
+        data.readUnsignedByte(); // очки определяются буквой
+        return Character.isLowerCase(letter) ? Tile.blankAs((char) letter) : Tile.of((char) letter);
+    }
+}
@@ -0,0 +1,93 @@
+package edu.susu.scrabble;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Собирает набор позиций (Position) из самоигры с фиксированным seed:
+ * из каждой партии берётся по первой позиции каждого вида, если партия до него дошла.
+ * Партия номер i играется с seed + i, так что набор воспроизводим.
+ *
+ * Запуск:
+ *   java edu.susu.scrabble.PositionHarvester <file.txt|dict.bin> <positions.bin> [партий] [seed]
+ */
+public final class PositionHarvester {
+
+    static final int OPENING_TURN = 2;       // позиция после двух ходов
+    static final int MIDGAME_BAG_SIZE = 50;  // в мешке осталась половина плиток
+    static final int CONGESTED_TILES = 60;   // на доске не меньше 60 плиток, а мешок не пуст
+
+    private final Dictionary dictionary;
+
+    public PositionHarvester(Dictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Использование: PositionHarvester <file.txt|dict.bin> <positions.bin> [партий] [seed]");
+            System.exit(1);
+        }
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        List<Position> positions = new PositionHarvester(SelfPlay.loadDictionary(new File(args[0]))).harvest(games, seed);
+        try (OutputStream out = new FileOutputStream(args[1])) {
+            Position.writeAll(out, positions);
+        }
+        for (Position position : positions) {
+            System.out.printf("%-14s ход %2d, плиток на доске %3d, в мешке %3d%n",
+                    position.name, position.getTurn(), position.tileCount(), position.bagSize());
+        }
+    }
+
+    /**
+     * Позиции из партий 0..games-1, по порядку партий и видов.
+     */
+    public List<Position> harvest(int games, long seed) {
+        List<Position> positions = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            harvestGame(seed + i, i, positions);
+        }
+        return positions;
+    }
+
+    private void harvestGame(long gameSeed, int index, List<Position> positions) {
+        AIGame game = new AIGame(dictionary, gameSeed);
+        EnumSet<Position.Category> taken = EnumSet.noneOf(Position.Category.class);
+        while (!game.isOver()) {
+            Position.Category category = categorize(game);
+            if (category != null && taken.add(category)) {
+                positions.add(Position.capture(category.name().toLowerCase() + "-" + index, category, game));
+            }
+            game.play(game.think());
+        }
+    }
+
+    // Вид позиции перед ходом или null, если позиция ничем не примечательна.
+    static Position.Category categorize(AIGame game) {
+        BitBoard bits = game.getBoard().getBits();
+        int bagSize = game.getBag().size();
+        if (bits.isEmpty()) {
+            return Position.Category.EMPTY;
+        }
+        if (bagSize == 0) {
+            return Position.Category.ENDGAME;
+        }
+        if (bits.tileCount() >= CONGESTED_TILES) {
+            return Position.Category.CONGESTED;
+        }
+        if (bagSize <= MIDGAME_BAG_SIZE) {
+            return Position.Category.MIDGAME;
+        }
+        if (game.getTurn() == OPENING_TURN) {
+            return Position.Category.OPENING;
+        }
+        return null;
+    }
+}
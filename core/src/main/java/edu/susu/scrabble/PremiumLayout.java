@@ -0,0 +1,101 @@
+package edu.susu.scrabble;
+
+/**
+ * Расстановка бонусных клеток доски в виде таблиц множителей,
+ * индексированных номером клетки row * SIZE + col.
+ * При подсчёте очков множители читаются из массивов без сравнения строк-бонусов.
+ * Объект неизменяемый; Board принимает раскладку в конструкторе, так что
+ * можно играть на доске с другой расстановкой бонусов.
+ *
+ * Раскладка задаётся 15 строками по 15 символов:
+ * W — утроение слова (TW), w — удвоение слова (DW),
+ * L — утроение буквы (TL), l — удвоение буквы (DL),
+ * * — стартовая клетка, . — обычная клетка.
+ */
+public final class PremiumLayout {
+
+    public static final int SIZE = 15;
+
+    /**
+     * Стандартная расстановка Scrabble (стартовая клетка без бонуса, как и раньше).
+     */
+    public static final PremiumLayout STANDARD = parse(
+            "W..l...W...l..W",
+            ".w...L...L...w.",
+            "..w...l.l...w..",
+            "l..w...l...w..l",
+            "....w.....w....",
+            ".L...L...L...L.",
+            "..l...l.l...l..",
+            "W..l...*...l..W",
+            "..l...l.l...l..",
+            ".L...L...L...L.",
+            "....w.....w....",
+            "l..w...l...w..l",
+            "..w...l.l...w..",
+            ".w...L...L...w.",
+            "W..l...W...l..W");
+
+    private final int[] letterMultipliers = new int[SIZE * SIZE];
+    private final int[] wordMultipliers = new int[SIZE * SIZE];
+    private final String[] labels = new String[SIZE * SIZE]; // "TW", "DL"... для Cell.getBonus и цвета клетки
+
+    private PremiumLayout() {
+    }
+
+    /**
+     * Разбирает раскладку из 15 строк (см. описание класса).
+     */
+    public static PremiumLayout parse(String... rows) {
+        if (rows.length != SIZE) {
+            throw new IllegalArgumentException("Нужно " + SIZE + " строк, получено " + rows.length);
+        }
+        PremiumLayout layout = new PremiumLayout();
+        for (int r = 0; r < SIZE; r++) {
+            if (rows[r].length() != SIZE) {
+                throw new IllegalArgumentException("Строка " + r + ": нужно " + SIZE + " символов");
+            }
+            for (int c = 0; c < SIZE; c++) {
+                int cell = r * SIZE + c;
+                int letter = 1;
+                int word = 1;
+                String label;
+                switch (rows[r].charAt(c)) {
+                    case 'W': word = 3; label = "TW"; break;
+                    case 'w': word = 2; label = "DW"; break;
+                    case 'L': letter = 3; label = "TL"; break;
+                    case 'l': letter = 2; label = "DL"; break;
+                    case '*': label = "X"; break;
+                    case '.': label = null; break;
+                    default:
+                        throw new IllegalArgumentException("Неизвестный символ '" + rows[r].charAt(c) + "' в строке " + r);
+                }
+                layout.letterMultipliers[cell] = letter;
+                layout.wordMultipliers[cell] = word;
+                layout.labels[cell] = label;
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * Множитель буквы в клетке (1, 2 или 3).
+     */
+    public int letterMultiplier(int cell) {
+        return letterMultipliers[cell];
+    }
+
+    /**
+     * Множитель слова в клетке (1, 2 или 3).
+     */
+    public int wordMultiplier(int cell) {
+        return wordMultipliers[cell];
+    }
+
+    /**
+     * Обозначение бонуса ("TW", "DW", "TL", "DL", "X") или null.
+     */
+    public String label(int cell) {
+        return labels[cell];
+    }
+}
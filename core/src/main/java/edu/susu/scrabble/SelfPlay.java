@@ -0,0 +1,295 @@
+package edu.susu.scrabble;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Офлайн-конвейер самоигры: партии AI против AI без Android, параллельно на всех
+ * ядрах, со статистикой по остаткам стойки. Результат — таблица LeaveTable
+ * (assets/leaves.bin), которую загружает приложение.
+ *
+ * Партия номер i играется с мешком Bag(seed + i), поэтому
+ * результат не зависит от числа потоков и порядка, в котором потоки берут партии.
+ * Каждый поток копит статистику в своём LeaveStats по мере игры (партии не
+ * хранятся), в конце статистики потоков складываются.
+ *
+ * Ценность остатка — насколько очки следующего хода того же игрока после хода
+ * с этим остатком выше среднего, со сжатием к нулю при малом числе наблюдений.
+ * Остатки из одной плитки записываются как средний вклад плитки по всем
+ * остаткам, где она есть: именно их LeaveTable берёт для остатков не из таблицы.
+ *
+ * Запуск:
+ *   java edu.susu.scrabble.SelfPlay <file.txt|dict.bin> <leaves.bin> [партий] [seed] [потоков] [исходная leaves.bin]
+ */
+public final class SelfPlay {
+
+    private static final int PRIOR_SAMPLES = 10; // сжатие ценности к нулю: как будто ещё 10 наблюдений со средним результатом
+    private static final int MIN_SAMPLES = 20;  // остатки с меньшим числом наблюдений в таблицу не попадают
+
+    private final Dictionary dictionary;
+    private final LeaveTable leaves; // таблица, с которой играют оба AI (LeaveTable.empty() — только по очкам)
+    private final int threads;
+
+    public SelfPlay(Dictionary dictionary, LeaveTable leaves, int threads) {
+        this.dictionary = dictionary;
+        this.leaves = leaves;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        if (args.length < 2) {
+            System.err.println("Использование: SelfPlay <file.txt|dict.bin> <leaves.bin> [партий] [seed] [потоков] [исходная leaves.bin]");
+            System.exit(1);
+        }
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        LeaveTable leaves = LeaveTable.empty();
+        if (args.length > 5) {
+            try (InputStream in = Files.newInputStream(new File(args[5]).toPath())) {
+                leaves = LeaveTable.load(in);
+            }
+        }
+
+        SelfPlay selfPlay = new SelfPlay(loadDictionary(new File(args[0])), leaves, threads);
+        long started = System.nanoTime();
+        LeaveStats stats = selfPlay.play(games, seed);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        int written;
+        try (OutputStream out = new FileOutputStream(args[1])) {
+            written = stats.writeTable(out, MIN_SAMPLES);
+        }
+        System.out.printf("Партий: %d, ходов: %d, %.1f с, потоков: %d%n", games, stats.moves, seconds, threads);
+        System.out.printf("%.1f партий/с, %.2f партий/с на поток%n", games / seconds, games / seconds / threads);
+        System.out.printf("Остатков: %d, в таблице: %d%n", stats.size(), written);
+    }
+
+    /**
+     * Словарь из списка слов (file.txt) или из скомпилированного DAWG (dict.bin).
+     */
+    static Dictionary loadDictionary(File file) throws IOException {
+        if (!file.getName().endsWith(".bin")) {
+            return new Dictionary(file.getPath());
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            return new Dictionary(new MappedLexicon(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+        }
+    }
+
+    /**
+     * Играет партии 0..games-1 в threads потоках и возвращает общую статистику остатков.
+     * Словарь общий для потоков и только читается.
+     */
+    public LeaveStats play(int games, long seed) throws InterruptedException, ExecutionException {
+        AtomicInteger nextGame = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<LeaveStats>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    LeaveStats stats = new LeaveStats();
+                    for (int game = nextGame.getAndIncrement(); game < games; game = nextGame.getAndIncrement()) {
+                        playGame(seed + game, stats);
+                    }
+                    return stats;
+                }));
+            }
+            LeaveStats total = new LeaveStats();
+            for (Future<LeaveStats> worker : workers) {
+                total.addAll(worker.get());
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Одна партия двух AI; остаток после каждого хода запоминается до следующего
+     * хода того же игрока и учитывается с очками этого хода.
+     */
+    void playGame(long gameSeed, LeaveStats stats) {
+        AIGame game = new AIGame(dictionary, gameSeed);
+        game.getPlayer(0).setLeaveTable(leaves);
+        game.getPlayer(1).setLeaveTable(leaves);
+        long[] pendingLeave = new long[2];
+        boolean[] hasPending = new boolean[2];
+        int[] counts = new int[LeaveTable.SYMBOLS];
+
+        while (!game.isOver()) {
+            int p = game.currentIndex();
+            AIPlayer.BestMove move = game.think();
+            if (hasPending[p]) {
+                stats.add(pendingLeave[p], move == null ? 0 : move.score);
+                hasPending[p] = false;
+            }
+            if (move == null) {
+                game.endTurn();
+                continue;
+            }
+            game.place(move);
+            stats.moves++;
+
+            // Остаток важен, только пока его можно пополнить из мешка
+            if (!game.getBag().bagIsEmpty()) {
+                AIPlayer.countRack(game.current().getRack(), counts);
+                pendingLeave[p] = LeaveTable.key(counts);
+                hasPending[p] = true;
+            }
+            game.endTurn();
+        }
+    }
+
+    /**
+     * Потоковая статистика по остаткам: для каждого ключа LeaveTable — число
+     * наблюдений и сумма очков следующего хода. Открытая адресация по массивам,
+     * память растёт с числом разных остатков, а не партий.
+     */
+    public static final class LeaveStats {
+        private long[] keys = new long[1 << 12];
+        private long[] counts = new long[1 << 12];
+        private long[] sums = new long[1 << 12];
+        private boolean[] used = new boolean[1 << 12];
+        private int size;
+        private final long[] symbolCounts = new long[LeaveTable.SYMBOLS]; // наблюдения остатков с этой плиткой
+        private final long[] symbolSums = new long[LeaveTable.SYMBOLS];
+        private long totalCount;
+        private long totalSum;
+        long moves;
+
+        public int size() {
+            return size;
+        }
+
+        public long samples() {
+            return totalCount;
+        }
+
+        void add(long key, int nextScore) {
+            add(key, 1, nextScore);
+            int previous = -1;
+            for (long k = key; k != 0; k >>>= 5) {
+                int symbol = (int) (k & 31) - 1;
+                if (symbol != previous) { // плитка учитывается один раз, сколько бы их ни было в остатке
+                    symbolCounts[symbol]++;
+                    symbolSums[symbol] += nextScore;
+                    previous = symbol;
+                }
+            }
+            totalCount++;
+            totalSum += nextScore;
+        }
+
+        void addAll(LeaveStats other) {
+            for (int i = 0; i < other.keys.length; i++) {
+                if (other.used[i]) {
+                    add(other.keys[i], other.counts[i], other.sums[i]);
+                }
+            }
+            for (int s = 0; s < LeaveTable.SYMBOLS; s++) {
+                symbolCounts[s] += other.symbolCounts[s];
+                symbolSums[s] += other.symbolSums[s];
+            }
+            totalCount += other.totalCount;
+            totalSum += other.totalSum;
+            moves += other.moves;
+        }
+
+        private void add(long key, long count, long sum) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+            int slot = slot(key, keys.length - 1);
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                size++;
+            }
+            counts[slot] += count;
+            sums[slot] += sum;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            long[] oldSums = sums;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            counts = new long[oldKeys.length * 2];
+            sums = new long[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    add(oldKeys[i], oldCounts[i], oldSums[i]);
+                }
+            }
+        }
+
+        /**
+         * Записывает таблицу остатков (формат LeaveTable) и возвращает число записей.
+         * Записи упорядочены по ключу, так что при том же seed файл тот же.
+         */
+        public int writeTable(OutputStream out, int minSamples) throws IOException {
+            double mean = totalCount == 0 ? 0 : (double) totalSum / totalCount;
+            long[] entryKeys = new long[size + LeaveTable.SYMBOLS];
+            int n = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (used[i] && counts[i] >= minSamples && (keys[i] >>> 5) != 0) {
+                    entryKeys[n++] = keys[i];
+                }
+            }
+            for (int s = 0; s < LeaveTable.SYMBOLS; s++) {
+                if (symbolCounts[s] >= minSamples) {
+                    entryKeys[n++] = s + 1;
+                }
+            }
+            Arrays.sort(entryKeys, 0, n);
+
+            float[] entryValues = new float[n];
+            for (int i = 0; i < n; i++) {
+                long key = entryKeys[i];
+                if ((key >>> 5) == 0) {
+                    entryValues[i] = value(symbolCounts[(int) key - 1], symbolSums[(int) key - 1], mean);
+                } else {
+                    int slot = slot(key, keys.length - 1);
+                    while (keys[slot] != key) {
+                        slot = (slot + 1) & (keys.length - 1);
+                    }
+                    entryValues[i] = value(counts[slot], sums[slot], mean);
+                }
+            }
+            LeaveTable.write(out, entryKeys, entryValues, n);
+            return n;
+        }
+
+        // Превышение над средним, сжатое к нулю при малом числе наблюдений.
+        private static float value(long count, long sum, double mean) {
+            return (float) ((sum - count * mean) / (count + PRIOR_SAMPLES));
+        }
+
+        private static int slot(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
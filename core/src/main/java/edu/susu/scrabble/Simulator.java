@@ -0,0 +1,372 @@
+package edu.susu.scrabble;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Выбор хода симуляцией (Монте-Карло). ParallelMoveSearch находит N лучших
+ * ходов-кандидатов по очкам и остатку, и каждый кандидат многократно
+ * разыгрывается на несколько ходов вперёд: стойка соперника и мешок случайно
+ * набираются из невидимых плиток (UnseenTiles), дальше оба игрока ходят жадно
+ * (лучший ход по очкам и остатку). Результат розыгрыша — разница очков за
+ * розыгрыш плюс разница ценности остатков; выбирается кандидат с лучшим средним.
+ * Розыгрыши идут кругами: в круге каждый кандидат разыгрывается с одним и тем же
+ * мешком, так что кандидаты сравниваются на одинаковых плитках соперника.
+ * Пока кругов меньше MIN_ROUNDS, средние слишком шумные, и выбирается лучший
+ * кандидат по очкам и остатку.
+ *
+ * Розыгрыши идут параллельно на общем пуле потоков, пока не выйдет время.
+ * Каждый поток работает на своих копиях доски, движка и мешка (Board.copyFrom,
+ * Engine.copyFrom, Bag.fill), снятых с одного снимка позиции: объекты партии
+ * (например, доска активности) читаются только при снятии снимка.
+ */
+public class Simulator {
+
+    public static final int DEFAULT_CANDIDATES = 10;
+    public static final int DEFAULT_PLIES = 2; // ответ соперника и наш следующий ход
+    public static final int MIN_ROUNDS = 8;
+
+    private static ExecutorService sharedWorkers;
+
+    private final Dictionary dictionary;
+    private final boolean useGaddag;
+    private final ExecutorService workers;
+    private final int threads;
+    private final ParallelMoveSearch candidateSearch;
+    private volatile LeaveTable leaves = LeaveTable.empty();
+    private int candidates = DEFAULT_CANDIDATES;
+    private int plies = DEFAULT_PLIES;
+    private long seed = System.nanoTime();
+
+    public Simulator(Dictionary dictionary, boolean useGaddag) {
+        this(sharedWorkers(), Runtime.getRuntime().availableProcessors(), dictionary, useGaddag);
+    }
+
+    /**
+     * @param threads сколько розыгрышей идут одновременно (не больше потоков workers)
+     */
+    public Simulator(ExecutorService workers, int threads, Dictionary dictionary, boolean useGaddag) {
+        this.workers = workers;
+        this.threads = threads;
+        this.dictionary = dictionary;
+        this.useGaddag = useGaddag;
+        this.candidateSearch = new ParallelMoveSearch(dictionary, useGaddag);
+    }
+
+    /**
+     * Общий пул на все ядра устройства; создаётся при первом обращении.
+     * Потоки — демоны, так что пул не мешает завершению программы.
+     */
+    public static synchronized ExecutorService sharedWorkers() {
+        if (sharedWorkers == null) {
+            AtomicInteger number = new AtomicInteger();
+            sharedWorkers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+                Thread thread = new Thread(r, "simulation-" + number.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return sharedWorkers;
+    }
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    public boolean usesGaddag() {
+        return useGaddag;
+    }
+
+    /**
+     * Таблица ценности остатков: по ней отбираются кандидаты, ходят игроки
+     * в розыгрышах и оцениваются остатки в конце розыгрыша.
+     */
+    public void setLeaveTable(LeaveTable leaves) {
+        this.leaves = leaves;
+        candidateSearch.setLeaveTable(leaves);
+    }
+
+    /**
+     * Сколько лучших ходов разыгрывать.
+     */
+    public void setCandidates(int candidates) {
+        this.candidates = candidates;
+    }
+
+    /**
+     * На сколько ходов вперёд разыгрывать кандидата (первым отвечает соперник).
+     */
+    public void setPlies(int plies) {
+        this.plies = plies;
+    }
+
+    /**
+     * Начальный seed для мешков розыгрышей (круг номер n получает seed + n).
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Итог симуляции: кандидаты в порядке ParallelMoveSearch, число розыгрышей
+     * и средний результат каждого.
+     */
+    public static final class Result {
+        public final List<AIPlayer.BestMove> candidates;
+        public final int[] rollouts;
+        public final float[] meanValue; // средний результат розыгрышей кандидата
+        public final boolean searchComplete; // кандидаты выбраны из всех ходов
+        private final long elapsedNanos; // время розыгрышей
+
+        Result(List<AIPlayer.BestMove> candidates, int[] rollouts, double[] sums,
+               boolean searchComplete, long elapsedNanos) {
+            this.candidates = Collections.unmodifiableList(candidates);
+            this.rollouts = rollouts;
+            this.meanValue = new float[candidates.size()];
+            for (int i = 0; i < meanValue.length; i++) {
+                meanValue[i] = rollouts[i] > 0 ? (float) (sums[i] / rollouts[i]) : Float.NaN;
+            }
+            this.searchComplete = searchComplete;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Кандидат с лучшим средним; если полных кругов меньше MIN_ROUNDS —
+         * лучший по очкам и остатку. null, если ходить нечем.
+         */
+        public AIPlayer.BestMove best() {
+            if (candidates.isEmpty()) {
+                return null;
+            }
+            if (rounds() < MIN_ROUNDS) {
+                return candidates.get(0);
+            }
+            int best = 0;
+            for (int i = 1; i < meanValue.length; i++) {
+                if (meanValue[i] > meanValue[best]) {
+                    best = i;
+                }
+            }
+            return candidates.get(best);
+        }
+
+        /**
+         * Полных кругов: сколько раз разыгран каждый кандидат.
+         */
+        public int rounds() {
+            int rounds = Integer.MAX_VALUE;
+            for (int count : rollouts) {
+                rounds = Math.min(rounds, count);
+            }
+            return candidates.isEmpty() ? 0 : rounds;
+        }
+
+        public long totalRollouts() {
+            long total = 0;
+            for (int count : rollouts) {
+                total += count;
+            }
+            return total;
+        }
+
+        public double rolloutsPerSecond() {
+            return elapsedNanos > 0 ? totalRollouts() * 1e9 / elapsedNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d кандидатов, %d розыгрышей, %.0f розыгрышей/с",
+                    candidates.size(), totalRollouts(), rolloutsPerSecond());
+        }
+    }
+
+    /**
+     * Симуляция для стойки rack до момента deadlineNanos (System.nanoTime):
+     * сначала поиск кандидатов, на оставшееся время — розыгрыши.
+     * Слова из excluded не рассматриваются. При прерывании вызывающего потока
+     * возвращает то, что успели разыграть.
+     */
+    public Result simulate(Board board, Engine engine, Tile[] rack, Set<String> excluded, long deadlineNanos) {
+        List<AIPlayer.BestMove> top = candidateSearch.findTopMoves(board, engine, rack, excluded,
+                candidates, true, deadlineNanos);
+        boolean complete = candidateSearch.wasLastSearchComplete();
+        int[] rollouts = new int[top.size()];
+        double[] sums = new double[top.size()];
+        if (top.size() < 2) {
+            return new Result(top, rollouts, sums, complete, 0);
+        }
+
+        // Снимок позиции: дальше доска и движок партии не читаются
+        Board root = new Board(board.getPremiums());
+        root.copyFrom(board);
+        Engine rootEngine = new Engine(null, root, dictionary);
+        rootEngine.copyFrom(engine);
+
+        long started = System.nanoTime();
+        Thread caller = Thread.currentThread();
+        AtomicLong counter = new AtomicLong();
+        List<Future<Rollouts>> running = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Rollouts worker = new Rollouts(root, rootEngine, rack.clone(), top, counter, caller, deadlineNanos);
+            running.add(workers.submit(worker));
+        }
+        try {
+            for (Future<Rollouts> future : running) {
+                Rollouts worker = future.get();
+                for (int i = 0; i < rollouts.length; i++) {
+                    rollouts[i] += worker.counts[i];
+                    sums[i] += worker.sums[i];
+                }
+            }
+        } catch (InterruptedException e) {
+            for (Future<Rollouts> future : running) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Розыгрыш завершился с ошибкой", e.getCause());
+        }
+        return new Result(top, rollouts, sums, complete, System.nanoTime() - started);
+    }
+
+    // Розыгрыши одного потока: своя доска, движок, игроки, мешок и генератор ходов.
+    private final class Rollouts implements Callable<Rollouts> {
+        final Board root;
+        final Engine rootEngine;
+        final Tile[] rack;
+        final List<AIPlayer.BestMove> top;
+        final AtomicLong counter;
+        final Thread caller;
+        final long deadline;
+        final int[] counts;
+        final double[] sums;
+
+        final Board board;
+        final AIPlayer me = new AIPlayer();
+        final AIPlayer opponent = new AIPlayer();
+        final Engine engine;
+        final Bag bag = new Bag(0);
+        final MoveGenerator generator = new MoveGenerator(dictionary, useGaddag);
+        final Placement placement = new Placement();
+        final AIPlayer.BestMove reply = new AIPlayer.BestMove();
+        final LeaveTable leaves = Simulator.this.leaves;
+        final int[] rackCounts = new int[LeaveTable.SYMBOLS];
+        final int[] leaveCounts = new int[LeaveTable.SYMBOLS];
+        final int[] unseenCounts = new int[UnseenTiles.SYMBOLS];
+
+        Rollouts(Board root, Engine rootEngine, Tile[] rack, List<AIPlayer.BestMove> top,
+                 AtomicLong counter, Thread caller, long deadline) {
+            this.root = root;
+            this.rootEngine = rootEngine;
+            this.rack = rack;
+            this.top = top;
+            this.counter = counter;
+            this.caller = caller;
+            this.deadline = deadline;
+            this.counts = new int[top.size()];
+            this.sums = new double[top.size()];
+            this.board = new Board(root.getPremiums());
+            this.engine = new Engine(me, board, dictionary);
+        }
+
+        @Override
+        public Rollouts call() {
+            while (!caller.isInterrupted() && !Thread.currentThread().isInterrupted()
+                    && System.nanoTime() - deadline < 0) {
+                long n = counter.getAndIncrement();
+                int candidate = (int) (n % top.size());
+                sums[candidate] += rollout(top.get(candidate), seed + n / top.size());
+                counts[candidate]++;
+            }
+            return this;
+        }
+
+        // Один розыгрыш кандидата: его очки, затем plies жадных ходов по очереди, начиная с соперника.
+        float rollout(AIPlayer.BestMove candidate, long bagSeed) {
+            board.copyFrom(root);
+            engine.copyFrom(rootEngine);
+            System.arraycopy(rack, 0, me.getRack(), 0, rack.length);
+            Arrays.fill(opponent.getRack(), null);
+
+            int spread = play(me, candidate);
+            // Невидимые для нас плитки — стойка соперника и мешок
+            engine.unseen.unseenBy(me.getRack(), unseenCounts);
+            bag.fill(unseenCounts);
+            bag.setSeed(bagSeed);
+            fillRack(opponent);
+            fillRack(me);
+
+            for (int ply = 0; ply < plies; ply++) {
+                AIPlayer mover = (ply & 1) == 0 ? opponent : me;
+                if (mover.getRackSize() == 0) {
+                    break;
+                }
+                if (!findReply(mover.getRack())) {
+                    continue; // пас
+                }
+                int score = play(mover, reply);
+                spread += mover == me ? score : -score;
+                fillRack(mover);
+            }
+            return spread + leaveValue(me.getRack()) - leaveValue(opponent.getRack());
+        }
+
+        // Выкладывает и засчитывает ход на копии доски.
+        private int play(AIPlayer player, AIPlayer.BestMove move) {
+            AIGame.place(board, engine, player, move);
+            if (!engine.checkBoard()) {
+                throw new IllegalStateException("Движок отклонил ход " + move.word + " в розыгрыше");
+            }
+            return engine.analyzer.getScore();
+        }
+
+        // Лучший ход стойки по очкам и остатку — в reply; false, если ходить нечем.
+        private boolean findReply(Tile[] rack) {
+            AIPlayer.countRack(rack, rackCounts);
+            boolean found = false;
+            for (MoveGenerator.Move move : generator.generateMoves(board, rack)) {
+                if (!AIPlayer.isPlayableVariant(board, move, rackCounts, leaveCounts)) {
+                    continue;
+                }
+                placement.set(move.startRow, move.startCol, move.isHorizontal, move.word);
+                AIPlayer.fillTilePoints(board, rack, placement);
+                int score = engine.scoreMove(board, placement);
+                if (score <= 0) {
+                    continue;
+                }
+                float equity = score + AIPlayer.leaveValue(leaves, board, move, rackCounts, leaveCounts);
+                if (!found || equity > reply.equity) {
+                    reply.word = move.word;
+                    reply.startRow = move.startRow;
+                    reply.startCol = move.startCol;
+                    reply.isHorizontal = move.isHorizontal;
+                    reply.score = score;
+                    reply.equity = equity;
+                    found = true;
+                }
+            }
+            return found;
+        }
+
+        private float leaveValue(Tile[] rack) {
+            AIPlayer.countRack(rack, rackCounts);
+            return leaves.value(rackCounts);
+        }
+
+        private void fillRack(Player player) {
+            while (!bag.bagIsEmpty() && player.getRackSize() < 7) {
+                player.addTileToRack(bag.getNextTile());
+            }
+        }
+    }
+}
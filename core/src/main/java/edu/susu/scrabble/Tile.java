@@ -0,0 +1,125 @@
+package edu.susu.scrabble;
+
+/**
+ * Плитка: буква и очки. Плитки не меняются, поэтому на каждую букву есть ровно
+ * один экземпляр (Tile.of), плюс пустая плитка (Tile.blank) и пустая плитка,
+ * выложенная как буква (Tile.blankAs, 0 очков). Плитки можно сравнивать через ==,
+ * а код буквы (code) — использовать как индекс массива.
+ */
+public final class Tile {
+
+    public static final int LETTERS = 26;
+    public static final int BLANK = 26; // код пустой плитки, которой ещё не назначена буква
+
+    // Очки букв A..Z по правилам Scrabble
+    private static final int[] POINTS = {
+            1, 3, 3, 2, 1, 4, 2, 4, 1, 8, 5, 1, 3, 1, 1, 3, 10, 1, 1, 1, 1, 4, 4, 8, 4, 10
+    };
+
+    private static final Tile[] TILES = new Tile[LETTERS];
+    private static final Tile[] BLANKS = new Tile[LETTERS];
+    private static final Tile BLANK_TILE = new Tile(BLANK, true, 0, "-");
+
+    static {
+        for (int code = 0; code < LETTERS; code++) {
+            String letter = String.valueOf((char) ('A' + code));
+            TILES[code] = new Tile(code, false, POINTS[code], letter);
+            BLANKS[code] = new Tile(code, true, 0, letter);
+        }
+    }
+
+    private final byte code;
+    private final boolean blank;
+    private final int points;
+    private final String letter;
+
+    private Tile(int code, boolean blank, int points, String letter) {
+        this.code = (byte) code;
+        this.blank = blank;
+        this.points = points;
+        this.letter = letter;
+    }
+
+    /**
+     * Плитка с буквой letter (в любом регистре); '-' — пустая плитка.
+     */
+    public static Tile of(char letter) {
+        if (letter == '-') {
+            return BLANK_TILE;
+        }
+        return TILES[checkedCode(letter)];
+    }
+
+    /**
+     * Плитка с буквой по коду 0..25; BLANK — пустая плитка.
+     */
+    public static Tile ofCode(int code) {
+        return code == BLANK ? BLANK_TILE : TILES[code];
+    }
+
+    /**
+     * Пустая плитка в мешке и на стойке.
+     */
+    public static Tile blank() {
+        return BLANK_TILE;
+    }
+
+    /**
+     * Пустая плитка, выложенная на доску как буква letter: 0 очков.
+     */
+    public static Tile blankAs(char letter) {
+        return BLANKS[checkedCode(letter)];
+    }
+
+    /**
+     * Код буквы 0..25 ('a'/'A' — 0) или -1, если это не латинская буква.
+     */
+    public static int codeOf(char letter) {
+        return Lexicon.letterIndex(letter);
+    }
+
+    /**
+     * Очки буквы по коду 0..25.
+     */
+    public static int pointsOf(int code) {
+        return POINTS[code];
+    }
+
+    private static int checkedCode(char letter) {
+        int code = codeOf(letter);
+        if (code < 0) {
+            throw new IllegalArgumentException("Не буква: " + letter);
+        }
+        return code;
+    }
+
+    /**
+     * Код буквы 0..25 или BLANK для пустой плитки без буквы.
+     */
+    public int code() {
+        return code;
+    }
+
+    /**
+     * true для пустой плитки — и на стойке, и выложенной как буква.
+     */
+    public boolean isBlank() {
+        return blank;
+    }
+
+    /**
+     * Буква в нижнем регистре, как в словаре и на BitBoard; '-' — пустая плитка без буквы.
+     */
+    public char letterChar() {
+        return code == BLANK ? '-' : (char) ('a' + code);
+    }
+
+    // Буква в верхнем регистре для показа на кнопках; "-" — пустая плитка без буквы.
+    public String getLetter() {
+        return letter;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+}
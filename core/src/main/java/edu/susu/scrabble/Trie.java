@@ -0,0 +1,145 @@
+package edu.susu.scrabble;
+
+import java.util.ArrayList;
+
+//Dictionary uses trie data structure to store and search words
+//Nodes are also registered by id so the trie can be walked through the Lexicon interface
+public class Trie implements Lexicon
+{
+	class TrieNode
+	{
+		private TrieNode[] children;
+		private boolean endOfWord;
+		private final int id;
+
+		public TrieNode()
+		{
+			children = new TrieNode[26];
+			endOfWord = false;
+			id = nodes.size();
+			nodes.add(this);
+
+			for(int i = 0; i < 26; i++)
+			{
+				children[i] = null;
+			}
+		}
+	}
+
+	private final ArrayList<TrieNode> nodes = new ArrayList<>();
+	TrieNode root;
+
+	public Trie()
+	{
+		root = new TrieNode();
+	}
+
+	public void insertWord(String word)
+	{
+		if(word == null)
+		{
+			return;
+		}
+
+		TrieNode current = root;
+
+		for(char c : word.toCharArray())
+		{
+			if(current.children[c - 'a'] == null)
+			{
+				current.children[c - 'a'] = new TrieNode();
+				current = current.children[c - 'a'];
+			}
+			else
+			{
+				current = current.children[c - 'a'];
+			}
+		}
+		current.endOfWord = true;
+	}
+
+	public boolean searchWord(String word)
+	{
+		if(word == null)
+		{
+			return true;
+		}
+
+		TrieNode current = root;
+
+		for(int i = 0; i < word.length(); i++)
+		{
+			char c = word.charAt(i);
+
+			if(current.children[c - 'a'] != null)
+			{
+				current = current.children[c - 'a'];
+			}
+			else
+			{
+				return false;
+			}
+		}
+
+		if(current.endOfWord == true)
+		{
+			return true;
+		}
+
+		return false;
+	}
+
+	@Override
+	public int root()
+	{
+		return root.id;
+	}
+
+	@Override
+	public int child(int node, int letter)
+	{
+		TrieNode next = nodes.get(node).children[letter];
+		return next == null ? NO_NODE : next.id;
+	}
+
+	@Override
+	public int childMask(int node)
+	{
+		TrieNode[] children = nodes.get(node).children;
+		int mask = 0;
+
+		for(int i = 0; i < 26; i++)
+		{
+			if(children[i] != null)
+			{
+				mask |= 1 << i;
+			}
+		}
+		return mask;
+	}
+
+	@Override
+	public boolean isTerminal(int node)
+	{
+		return nodes.get(node).endOfWord;
+	}
+
+	@Override
+	public boolean contains(CharSequence word)
+	{
+		return containsIgnoreCase(word, 0, word.length());
+	}
+
+	@Override
+	public int nodeCount()
+	{
+		return nodes.size();
+	}
+
+	@Override
+	public long estimatedHeapBytes()
+	{
+		//node object (~24 bytes) + TrieNode[26] array (~120 bytes) + reference in nodes list
+		return nodes.size() * (24L + 120L + 4L);
+	}
+}
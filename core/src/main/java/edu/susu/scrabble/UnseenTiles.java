@@ -0,0 +1,170 @@
+package edu.susu.scrabble;
+
+/**
+ * Плитки, которых ещё нет на доске: мешок и обе стойки, по кодам букв (Tile.BLANK — пустые).
+ * Engine.checkBoard вычитает выложенные плитки принятого хода, так что доску
+ * пересчитывать не нужно. Для игрока невидимы эти плитки без его стойки:
+ * запросы принимают стойку и вычитают её (не больше 7 плиток).
+ * Выдача из мешка переносит плитку из мешка на стойку, то есть счётчики
+ * не меняет; чья это стойка, запрос узнаёт по переданному массиву.
+ */
+public final class UnseenTiles {
+
+    public static final int SYMBOLS = Tile.BLANK + 1;
+
+    private final int[] counts = new int[SYMBOLS];
+    private int total;
+    private int points; // сумма очков невыложенных плиток
+
+    /**
+     * Полный набор: ни одной плитки на доске.
+     */
+    public UnseenTiles() {
+        clear();
+    }
+
+    /**
+     * Делает этот набор копией other без создания объектов.
+     */
+    public void copyFrom(UnseenTiles other) {
+        System.arraycopy(other.counts, 0, counts, 0, SYMBOLS);
+        total = other.total;
+        points = other.points;
+    }
+
+    /**
+     * Пересчёт по засчитанным плиткам доски — после восстановления позиции.
+     */
+    public void reset(Board board) {
+        clear();
+        BitBoard bits = board.getBits();
+        for (int row = 0; row < BitBoard.SIZE; row++) {
+            for (int col = 0; col < BitBoard.SIZE; col++) {
+                if (bits.isCommitted(row, col)) {
+                    remove(board.cellMatrix[row][col].getTile());
+                }
+            }
+        }
+    }
+
+    private void clear() {
+        System.arraycopy(Bag.COUNTS, 0, counts, 0, SYMBOLS);
+        total = 0;
+        points = 0;
+        for (int code = 0; code < SYMBOLS; code++) {
+            total += counts[code];
+            points += counts[code] * pointsOf(code);
+        }
+    }
+
+    /**
+     * Плитка выложена на доску принятым ходом.
+     */
+    public void remove(Tile tile) {
+        int code = symbolOf(tile);
+        counts[code]--;
+        total--;
+        points -= pointsOf(code);
+    }
+
+    /**
+     * Невыложенных плиток с кодом code (вместе со всеми стойками).
+     */
+    public int count(int code) {
+        return counts[code];
+    }
+
+    /**
+     * Всего невыложенных плиток (вместе со всеми стойками).
+     */
+    public int total() {
+        return total;
+    }
+
+    /**
+     * Невидимые для владельца rack плитки по кодам в out (длина SYMBOLS).
+     * @return их число
+     */
+    public int unseenBy(Tile[] rack, int[] out) {
+        System.arraycopy(counts, 0, out, 0, SYMBOLS);
+        int unseen = total;
+        for (Tile tile : rack) {
+            if (tile != null) {
+                out[symbolOf(tile)]--;
+                unseen--;
+            }
+        }
+        return unseen;
+    }
+
+    /**
+     * Вероятность, что случайная невидимая владельцу rack плитка — с кодом code
+     * (следующая плитка из мешка, если стойка соперника неизвестна).
+     */
+    public float probability(int code, Tile[] rack) {
+        int unseen = total;
+        int matching = counts[code];
+        for (Tile tile : rack) {
+            if (tile != null) {
+                unseen--;
+                if (symbolOf(tile) == code) {
+                    matching--;
+                }
+            }
+        }
+        return unseen > 0 ? (float) matching / unseen : 0f;
+    }
+
+    /**
+     * Вероятность вытянуть хотя бы одну плитку с кодом code из draws плиток
+     * (гипергеометрическое распределение по невидимым владельцу rack плиткам).
+     */
+    public float probabilityAtLeastOne(int code, int draws, Tile[] rack) {
+        int unseen = total;
+        int matching = counts[code];
+        for (Tile tile : rack) {
+            if (tile != null) {
+                unseen--;
+                if (symbolOf(tile) == code) {
+                    matching--;
+                }
+            }
+        }
+        if (matching <= 0 || draws <= 0) {
+            return 0f;
+        }
+        if (draws > unseen - matching) {
+            return 1f;
+        }
+        // P(ни одной) = C(unseen - matching, draws) / C(unseen, draws)
+        double none = 1.0;
+        for (int i = 0; i < draws; i++) {
+            none *= (double) (unseen - matching - i) / (unseen - i);
+        }
+        return (float) (1.0 - none);
+    }
+
+    /**
+     * Среднее число очков случайной невидимой владельцу rack плитки.
+     */
+    public float expectedPoints(Tile[] rack) {
+        int unseen = total;
+        int sum = points;
+        for (Tile tile : rack) {
+            if (tile != null) {
+                unseen--;
+                sum -= pointsOf(symbolOf(tile));
+            }
+        }
+        return unseen > 0 ? (float) sum / unseen : 0f;
+    }
+
+    // Пустая плитка считается пустой и тогда, когда выложена как буква.
+    static int symbolOf(Tile tile) {
+        return tile.isBlank() ? Tile.BLANK : tile.code();
+    }
+
+    private static int pointsOf(int code) {
+        return code == Tile.BLANK ? 0 : Tile.pointsOf(code);
+    }
+}
@@ -0,0 +1,59 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Из вариантов хода с пустыми плитками играется ровно один — тот, что совпадает
+ * с раскладкой fillTilePoints (сначала настоящие плитки).
+ */
+public class AIPlayerTest {
+
+    @Test
+    public void eachMoveHasOnePlayableBlankVariant() {
+        Tile[] rack = { Tile.of('a'), Tile.of('e'), Tile.of('r'), Tile.of('s'), Tile.of('t'), Tile.blank(), Tile.blank() };
+        Board board = new Board();
+        int[] counts = new int[LeaveTable.SYMBOLS];
+        int[] scratch = new int[LeaveTable.SYMBOLS];
+        AIPlayer.countRack(rack, counts);
+
+        Map<String, Integer> playable = new HashMap<>();
+        List<MoveGenerator.Move> moves = new MoveGenerator(TestDictionary.get()).generateMoves(board, rack);
+        for (MoveGenerator.Move move : moves) {
+            String key = move.word + " " + move.startRow + "," + move.startCol + (move.isHorizontal ? " across" : " down");
+            int n = AIPlayer.isPlayableVariant(board, move, counts, scratch) ? 1 : 0;
+            Integer old = playable.get(key);
+            playable.put(key, old == null ? n : old + n);
+        }
+        assertTrue(moves.size() > playable.size()); // варианты с пустыми плитками действительно есть
+        for (Map.Entry<String, Integer> entry : playable.entrySet()) {
+            assertEquals(entry.getKey(), 1, (int) entry.getValue());
+        }
+    }
+
+    @Test
+    public void playableVariantUsesRealTilesFirst() {
+        Tile[] rack = { Tile.of('a'), Tile.of('t'), Tile.blank() };
+        int[] counts = new int[LeaveTable.SYMBOLS];
+        AIPlayer.countRack(rack, counts);
+        MoveGenerator.Move move = new MoveGenerator.Move();
+        move.word = "tat";
+        move.startRow = 7;
+        move.startCol = 7;
+        move.isHorizontal = true;
+        move.tilesPlaced = 3;
+
+        int[] scratch = new int[LeaveTable.SYMBOLS];
+        move.blankMask = 0b100; // вторая t — пустая плитка
+        assertTrue(AIPlayer.isPlayableVariant(new Board(), move, counts, scratch));
+        move.blankMask = 0b001; // пустая вместо первой t, настоящая t ушла бы на вторую
+        assertFalse(AIPlayer.isPlayableVariant(new Board(), move, counts, scratch));
+        move.blankMask = 0;
+        assertFalse(AIPlayer.isPlayableVariant(new Board(), move, counts, scratch));
+    }
+}
@@ -0,0 +1,55 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Мешок с одним seed выдаёт плитки в одном порядке; копия — те же плитки, что и оригинал.
+ */
+public class BagTest {
+
+    @Test
+    public void sameSeedDrawsSameTiles() {
+        assertEquals(drawAll(new Bag(7)), drawAll(new Bag(7)));
+        assertNotEquals(drawAll(new Bag(7)), drawAll(new Bag(8)));
+    }
+
+    @Test
+    public void copyDrawsSameTiles() {
+        Bag bag = new Bag(3);
+        bag.getNextTile();
+        Bag copy = bag.copy();
+        assertEquals(drawAll(bag), drawAll(copy));
+    }
+
+    @Test
+    public void fullBagHasStandardTiles() {
+        Bag bag = new Bag(1);
+        int[] counts = new int[Tile.BLANK + 1];
+        assertEquals(100, bag.size());
+        while (!bag.bagIsEmpty()) {
+            Tile tile = bag.getNextTile();
+            counts[tile.isBlank() ? Tile.BLANK : tile.code()]++;
+        }
+        assertArrayEquals(Bag.COUNTS, counts);
+    }
+
+    @Test
+    public void returnedBlankComesBackBlank() {
+        Bag bag = new Bag(1);
+        bag.fill(new int[Tile.BLANK + 1]);
+        bag.returnTile(Tile.blankAs('e'));
+        assertEquals(1, bag.count(Tile.BLANK));
+        assertTrue(bag.getNextTile().isBlank());
+        assertTrue(bag.bagIsEmpty());
+    }
+
+    private static String drawAll(Bag bag) {
+        StringBuilder tiles = new StringBuilder();
+        while (!bag.bagIsEmpty()) {
+            tiles.append(bag.getNextTile().getLetter());
+        }
+        return tiles.toString();
+    }
+}
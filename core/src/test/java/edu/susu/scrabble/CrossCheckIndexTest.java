@@ -0,0 +1,40 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перекрёстные проверки, которые Engine.checkBoard обновляет по ходу партии,
+ * должны совпадать с построенными заново по всей доске.
+ */
+public class CrossCheckIndexTest {
+
+    @Test
+    public void incrementalUpdateMatchesRebuild() {
+        Dictionary dictionary = TestDictionary.get();
+        for (long seed = 1; seed <= 3; seed++) {
+            AIGame game = new AIGame(dictionary, seed);
+            while (!game.isOver()) {
+                game.play(game.think());
+                Board board = game.getBoard();
+                CrossCheckIndex index = board.getCrossChecks();
+                if (board.getBits().isEmpty()) {
+                    continue;
+                }
+                assertNotNull(index);
+                assertTrue(index.isCurrent(board));
+
+                CrossCheckIndex fresh = new CrossCheckIndex(dictionary.getLexicon());
+                fresh.rebuild(board);
+                for (int cell = 0; cell < BitBoard.SIZE * BitBoard.SIZE; cell++) {
+                    assertEquals("поперёк, клетка " + cell, fresh.allowed(true, cell), index.allowed(true, cell));
+                    assertEquals("вдоль, клетка " + cell, fresh.allowed(false, cell), index.allowed(false, cell));
+                }
+                for (int row = 0; row < BitBoard.SIZE; row++) {
+                    assertEquals("якоря, строка " + row, fresh.anchorMask(row), index.anchorMask(row));
+                }
+            }
+        }
+    }
+}
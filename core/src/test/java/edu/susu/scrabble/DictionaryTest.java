@@ -0,0 +1,63 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * DAWG (по умолчанию) и прежний Trie должны принимать одни и те же слова.
+ */
+public class DictionaryTest {
+
+    @Test
+    public void dawgAcceptsSameWordsAsTrie() throws IOException {
+        Dictionary trie = new Dictionary(TestDictionary.wordsPath(), Dictionary.Backend.TRIE);
+        Dictionary dawg = TestDictionary.get();
+        int checked = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(TestDictionary.wordsPath()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toLowerCase();
+                if (word.isEmpty()) {
+                    continue;
+                }
+                // само слово и соседние строки, которых в словаре может не быть
+                String[] variants = { word, word + "s", word + "x", "a" + word, word.substring(1) };
+                for (String variant : variants) {
+                    assertEquals(variant, trie.verifyWord(variant), dawg.verifyWord(variant));
+                    checked++;
+                }
+            }
+        }
+        assertTrue(checked > 0);
+    }
+
+    @Test(expected = IOException.class)
+    public void missingWordListIsAnError() throws IOException {
+        new Dictionary(TestDictionary.wordsPath() + ".missing");
+    }
+
+    @Test
+    public void userWordsAreAccepted() {
+        Dictionary dictionary = new Dictionary(TestDictionary.get().getLexicon());
+        assertFalse(dictionary.verifyWord("xyzzy"));
+        assertFalse(dictionary.hasUserWords());
+        dictionary.getTrie().insertWord("xyzzy");
+        assertTrue(dictionary.hasUserWords());
+        assertTrue(dictionary.verifyWord("XYZZY"));
+    }
+
+    @Test
+    public void verifyWordIgnoresCase() {
+        Dictionary dictionary = TestDictionary.get();
+        assertTrue(dictionary.verifyWord("word"));
+        assertTrue(dictionary.verifyWord("WoRd"));
+        char[] chars = "xWORDx".toCharArray();
+        assertTrue(dictionary.verifyWord(chars, 1, 4));
+        assertFalse(dictionary.verifyWord("wordqx"));
+    }
+}
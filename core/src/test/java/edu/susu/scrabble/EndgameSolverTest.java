@@ -0,0 +1,166 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перебор эндшпиля с отсечениями и таблицей транспозиций должен давать ту же
+ * разницу очков, что и полный negamax без них по тем же спискам ходов
+ * (те же width лучших ходов в узле), на эндшпилях из партий AI.
+ */
+public class EndgameSolverTest {
+
+    private static final int WIDTH = 2;
+    private static final Set<String> NONE = Collections.emptySet();
+
+    @Test
+    public void solveMatchesBruteForce() {
+        Dictionary dictionary = TestDictionary.get();
+        EndgameSolver solver = new EndgameSolver(dictionary, false);
+        solver.setWidth(WIDTH);
+        int checked = 0;
+        for (long seed = 1; seed <= 8; seed++) {
+            AIGame game = endgame(dictionary, seed);
+            if (game == null) {
+                continue;
+            }
+            Tile[] rack = game.current().getRack();
+            Tile[] opponentRack = game.getPlayer(1 - game.currentIndex()).getRack();
+            EndgameSolver.Solution solution = solver.solve(game.getBoard(), game.getEngine(), rack, opponentRack,
+                    NONE, System.nanoTime() + 60_000_000_000L);
+
+            BruteForce brute = new BruteForce(dictionary, game.getBoard(), game.getEngine(), rack, opponentRack);
+            int expected = brute.negamax(0, false);
+            assertEquals("seed " + seed + ": " + solution, expected, solution.spread);
+            assertEquals("seed " + seed + ": " + solution, expected, brute.valueOf(solution.move));
+            checked++;
+        }
+        assertTrue(checked >= 4);
+    }
+
+    @Test
+    public void excludedWordIsNotPlayedFirst() {
+        Dictionary dictionary = TestDictionary.get();
+        AIGame game = endgame(dictionary, 5);
+        Tile[] rack = game.current().getRack();
+        Tile[] opponentRack = game.getPlayer(1 - game.currentIndex()).getRack();
+        EndgameSolver solver = new EndgameSolver(dictionary, false);
+        solver.setWidth(WIDTH);
+        EndgameSolver.Solution first = solver.solve(game.getBoard(), game.getEngine(), rack, opponentRack,
+                NONE, System.nanoTime() + 60_000_000_000L);
+        assertNotNull(first.move);
+        EndgameSolver.Solution second = solver.solve(game.getBoard(), game.getEngine(), rack, opponentRack,
+                Collections.singleton(first.move.word), System.nanoTime() + 60_000_000_000L);
+        assertTrue(second.move == null || !second.move.word.equals(first.move.word));
+    }
+
+    // Партия AI до пустого мешка; null, если она закончилась раньше.
+    private static AIGame endgame(Dictionary dictionary, long seed) {
+        AIGame game = new AIGame(dictionary, seed);
+        while (!game.isOver() && !game.getBag().bagIsEmpty()) {
+            game.play(game.think());
+        }
+        return game.isOver() ? null : game;
+    }
+
+    /**
+     * Negamax по всему дереву: в узле width лучших по очкам ходов и пас, как в EndgameSolver.
+     */
+    private static final class BruteForce {
+        private static final int MAX_PLIES = 2 * 7 + 2;
+
+        private final Dictionary dictionary;
+        private final MoveGenerator generator;
+        private final Placement placement = new Placement();
+        private final Board[] boards = new Board[MAX_PLIES + 1];
+        private final Engine[] engines = new Engine[MAX_PLIES + 1];
+        private final AIPlayer[] players = { new AIPlayer(), new AIPlayer() };
+        private final int[] rackCounts = new int[LeaveTable.SYMBOLS];
+        private final int[] scratch = new int[LeaveTable.SYMBOLS];
+
+        BruteForce(Dictionary dictionary, Board board, Engine engine, Tile[] rack, Tile[] opponentRack) {
+            this.dictionary = dictionary;
+            this.generator = new MoveGenerator(dictionary, false);
+            for (int i = 0; i <= MAX_PLIES; i++) {
+                boards[i] = new Board(board.getPremiums());
+                engines[i] = new Engine(null, boards[i], dictionary);
+            }
+            boards[0].copyFrom(board);
+            engines[0].copyFrom(engine);
+            System.arraycopy(rack, 0, players[0].getRack(), 0, 7);
+            System.arraycopy(opponentRack, 0, players[1].getRack(), 0, 7);
+        }
+
+        int negamax(int ply, boolean passed) {
+            int best = Integer.MIN_VALUE;
+            for (AIPlayer.BestMove move : moves(ply)) {
+                best = Math.max(best, value(ply, move, passed));
+            }
+            return Math.max(best, value(ply, null, passed));
+        }
+
+        // Разница очков корня после хода move (null — пас).
+        int valueOf(AIPlayer.BestMove move) {
+            return value(0, move, false);
+        }
+
+        private int value(int ply, AIPlayer.BestMove move, boolean passed) {
+            AIPlayer mover = players[ply & 1];
+            AIPlayer opponent = players[(ply + 1) & 1];
+            boards[ply + 1].copyFrom(boards[ply]);
+            engines[ply + 1].copyFrom(engines[ply]);
+            if (move == null) {
+                return passed ? opponent.getRackPoints() - mover.getRackPoints() : -negamax(ply + 1, true);
+            }
+            Tile[] saved = mover.getRack().clone();
+            AIGame.place(boards[ply + 1], engines[ply + 1], mover, move);
+            assertTrue(move.word, engines[ply + 1].checkBoard());
+            int value = mover.getRackSize() == 0
+                    ? move.score + 2 * opponent.getRackPoints()
+                    : move.score - negamax(ply + 1, false);
+            System.arraycopy(saved, 0, mover.getRack(), 0, 7);
+            return value;
+        }
+
+        // Те же ходы и тот же порядок, что EndgameSolver.orderedMoves, первые WIDTH.
+        private List<AIPlayer.BestMove> moves(int ply) {
+            Board board = boards[ply];
+            Tile[] rack = players[ply & 1].getRack();
+            AIPlayer.countRack(rack, rackCounts);
+            List<AIPlayer.BestMove> moves = new ArrayList<>();
+            for (MoveGenerator.Move move : generator.generateMoves(board, rack)) {
+                if (!AIPlayer.isPlayableVariant(board, move, rackCounts, scratch)) {
+                    continue;
+                }
+                placement.set(move.startRow, move.startCol, move.isHorizontal, move.word);
+                AIPlayer.fillTilePoints(board, rack, placement);
+                int score = engines[ply].scoreMove(board, placement);
+                if (score <= 0) {
+                    continue;
+                }
+                AIPlayer.BestMove candidate = new AIPlayer.BestMove();
+                candidate.word = move.word;
+                candidate.startRow = move.startRow;
+                candidate.startCol = move.startCol;
+                candidate.isHorizontal = move.isHorizontal;
+                candidate.score = score;
+                candidate.equity = score + move.tilesPlaced / 8f;
+                moves.add(candidate);
+            }
+            Collections.sort(moves, new Comparator<AIPlayer.BestMove>() {
+                @Override
+                public int compare(AIPlayer.BestMove a, AIPlayer.BestMove b) {
+                    return Float.compare(b.equity, a.equity);
+                }
+            });
+            return moves.size() > WIDTH ? moves.subList(0, WIDTH) : moves;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Engine.scoreMove (оценка без укладки плиток) должен совпадать с очками,
+ * которые засчитывает Engine.checkBoard, и не менять доску.
+ */
+public class EngineTest {
+
+    @Test
+    public void scoreMoveMatchesCheckBoard() {
+        for (long seed = 1; seed <= 3; seed++) {
+            AIGame game = new AIGame(TestDictionary.get(), seed);
+            while (!game.isOver()) {
+                int tiles = game.getBoard().getBits().tileCount();
+                AIPlayer.BestMove move = game.think();
+                assertEquals("доска изменилась при поиске", tiles, game.getBoard().getBits().tileCount());
+                int score = game.play(move);
+                if (move != null) {
+                    assertEquals(move.word + " на ходу " + game.getTurn(), move.score, score);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void scoreMoveRejectsInvalidWords() {
+        AIGame game = new AIGame(TestDictionary.get(), 1);
+        Placement placement = new Placement();
+        placement.set(7, 6, true, "qzx");
+        AIPlayer.fillTilePoints(game.getBoard(), game.current().getRack(), placement);
+        assertTrue(game.getEngine().scoreMove(game.getBoard(), placement) <= 0);
+    }
+}
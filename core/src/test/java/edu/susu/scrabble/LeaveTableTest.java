@@ -0,0 +1,51 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Таблица остатков: запись и чтение файла, запасная оценка по отдельным плиткам.
+ */
+public class LeaveTableTest {
+
+    @Test
+    public void writeThenLoadKeepsValues() throws IOException {
+        long[] keys = { key("q"), key("s"), key("-"), key("qu"), key("") };
+        float[] values = { -7.5f, 8.25f, 25f, -1f, 0f };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LeaveTable.write(out, keys, values, keys.length);
+
+        LeaveTable table = LeaveTable.load(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(keys.length, table.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(values[i], table.value(keys[i]), 0f);
+        }
+        // Нет в таблице — сумма отдельных плиток
+        assertEquals(-7.5f + 8.25f + 25f, table.value(key("qs-")), 1e-6f);
+    }
+
+    @Test
+    public void keyDoesNotDependOnTileOrder() {
+        assertEquals(key("aqs-"), key("-sqa"));
+        assertNotEquals(key("aqs"), key("aqs-"));
+        assertEquals(0, key(""));
+    }
+
+    @Test(expected = IOException.class)
+    public void foreignFileIsRejected() throws IOException {
+        LeaveTable.load(new ByteArrayInputStream(new byte[] { 'D', 'A', 'W', 'G', 0, 0, 0, 1, 0, 0, 0, 0 }));
+    }
+
+    private static long key(String tiles) {
+        int[] counts = new int[LeaveTable.SYMBOLS];
+        for (char c : tiles.toCharArray()) {
+            counts[c == '-' ? LeaveTable.BLANK : c - 'a']++;
+        }
+        return LeaveTable.key(counts);
+    }
+}
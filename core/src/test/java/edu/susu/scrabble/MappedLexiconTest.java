@@ -0,0 +1,74 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * dict.bin: LexiconCompiler пишет DAWG, MappedLexicon читает его из отображённого файла
+ * и отвечает так же, как построенный в памяти DAWG.
+ */
+public class MappedLexiconTest {
+
+    private static final List<String> WORDS = Arrays.asList("cat", "cats", "car", "cart", "dog", "dogs", "do", "a");
+
+    @Test
+    public void compiledLexiconMatchesWordList() throws IOException {
+        File words = File.createTempFile("words", ".txt");
+        File output = File.createTempFile("dict", ".bin");
+        try {
+            // не по порядку, в разном регистре и с мусором — компилятор всё это отбрасывает или сортирует
+            Files.write(words.toPath(), Arrays.asList("dogs", "Cat", "cats", "car", "", "cart", "do-re", "dog", "do", "a", "CAT"),
+                    StandardCharsets.UTF_8);
+            Dawg dawg = LexiconCompiler.compile(words, output);
+            MappedLexicon mapped = map(output);
+
+            assertEquals(dawg.nodeCount(), mapped.nodeCount());
+            for (String word : WORDS) {
+                assertTrue(word, mapped.contains(word));
+                assertTrue(word, dawg.contains(word));
+            }
+            String[] absent = { "", "c", "ca", "carts", "d", "dor", "do-re", "b", "cata" };
+            for (String word : absent) {
+                assertFalse(word, mapped.contains(word));
+                assertFalse(word, dawg.contains(word));
+            }
+            assertTrue(mapped.containsIgnoreCase("CaRt", 0, 4));
+        } finally {
+            words.delete();
+            output.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedFileIsRejected() throws IOException {
+        File words = File.createTempFile("words", ".txt");
+        File output = File.createTempFile("dict", ".bin");
+        try {
+            Files.write(words.toPath(), WORDS, StandardCharsets.UTF_8);
+            LexiconCompiler.compile(words, output);
+            byte[] bytes = Files.readAllBytes(output.toPath());
+            new MappedLexicon(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 4)));
+        } finally {
+            words.delete();
+            output.delete();
+        }
+    }
+
+    private static MappedLexicon map(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            return new MappedLexicon(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+}
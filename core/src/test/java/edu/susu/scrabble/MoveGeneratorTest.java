@@ -0,0 +1,59 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Ходы генератора: по GADDAG — ровно те же, что по DAWG (Аппель–Якобсон);
+ * слова пользователя из Trie словаря играются наравне с основными.
+ */
+public class MoveGeneratorTest {
+
+    @Test
+    public void gaddagFindsSameMovesAsDawg() {
+        Dictionary dictionary = TestDictionary.get();
+        MoveGenerator dawg = new MoveGenerator(dictionary, false);
+        MoveGenerator gaddag = new MoveGenerator(dictionary, true);
+        for (long seed = 1; seed <= 2; seed++) {
+            AIGame game = new AIGame(dictionary, seed);
+            while (!game.isOver()) {
+                Tile[] rack = game.current().getRack();
+                List<MoveGenerator.Move> expected = dawg.generateMoves(game.getBoard(), rack);
+                List<MoveGenerator.Move> actual = gaddag.generateMoves(game.getBoard(), rack);
+                assertEquals("ход " + game.getTurn(), keys(expected), keys(actual));
+                assertEquals("ход " + game.getTurn(), expected.size(), actual.size());
+                game.play(game.think());
+            }
+        }
+    }
+
+    @Test
+    public void userWordsAreGenerated() {
+        Tile[] rack = { Tile.of('x'), Tile.of('y'), Tile.of('z'), Tile.of('z'), Tile.of('y'), Tile.of('a'), Tile.of('t') };
+        Dictionary dictionary = new Dictionary(TestDictionary.get().getLexicon());
+        dictionary.getTrie().insertWord("xyzzy");
+        for (boolean useGaddag : new boolean[] { false, true }) {
+            List<MoveGenerator.Move> moves = new MoveGenerator(dictionary, useGaddag).generateMoves(new Board(), rack);
+            boolean found = false;
+            for (MoveGenerator.Move move : moves) {
+                found |= move.word.equals("xyzzy");
+            }
+            assertTrue("GADDAG " + useGaddag, found);
+            assertEquals("повторы ходов", moves.size(), keys(moves).size());
+        }
+    }
+
+    static Set<String> keys(List<MoveGenerator.Move> moves) {
+        Set<String> keys = new HashSet<>();
+        for (MoveGenerator.Move move : moves) {
+            keys.add(move.word + " " + move.startRow + "," + move.startCol + (move.isHorizontal ? " across" : " down")
+                    + " blanks " + move.blankMask + " placed " + move.tilesPlaced);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,92 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Параллельный поиск находит тот же лучший ход, что и последовательный
+ * AIPlayer.findBestMove, и не зависит от числа потоков; варианты одного хода
+ * с пустыми плитками в top-K не повторяются.
+ */
+public class ParallelMoveSearchTest {
+
+    @Test
+    public void bestMoveMatchesSequentialSearch() {
+        Dictionary dictionary = TestDictionary.get();
+        ParallelMoveSearch parallel = new ParallelMoveSearch(dictionary, false);
+        ParallelMoveSearch single = new ParallelMoveSearch(new ForkJoinPool(1), dictionary, false);
+        Set<String> none = Collections.emptySet();
+        for (long seed = 1; seed <= 2; seed++) {
+            AIGame game = new AIGame(dictionary, seed);
+            while (!game.isOver()) {
+                Board board = game.getBoard();
+                Tile[] rack = game.current().getRack();
+                AIPlayer sequential = new AIPlayer(); // свой список сыгранных слов — пустой
+                System.arraycopy(rack, 0, sequential.getRack(), 0, rack.length);
+                AIPlayer.BestMove expected = sequential.findBestMove(board, game.getEngine(), dictionary);
+
+                List<AIPlayer.BestMove> top = parallel.findTopMoves(board, game.getEngine(), rack, none, 10, false, 0);
+                assertTrue(parallel.wasLastSearchComplete());
+                assertEquals(describe(top), describe(single.findTopMoves(board, game.getEngine(), rack, none, 10, false, 0)));
+                if (expected == null) {
+                    assertTrue(top.isEmpty());
+                } else {
+                    assertEquals("ход " + game.getTurn(), expected.equity, top.get(0).equity, 1e-4);
+                }
+                assertTrue(top.size() <= 10);
+                for (int i = 1; i < top.size(); i++) {
+                    assertTrue(ParallelMoveSearch.BEST_FIRST.compare(top.get(i - 1), top.get(i)) <= 0);
+                }
+                game.play(game.think());
+            }
+        }
+    }
+
+    @Test
+    public void excludedWordsAreSkipped() {
+        Dictionary dictionary = TestDictionary.get();
+        AIGame game = new AIGame(dictionary, 3);
+        game.play(game.think());
+        ParallelMoveSearch search = new ParallelMoveSearch(dictionary, false);
+        Tile[] rack = game.current().getRack();
+        Set<String> none = Collections.emptySet();
+        AIPlayer.BestMove best = search.findTopMoves(game.getBoard(), game.getEngine(), rack, none, 1, false, 0).get(0);
+        for (AIPlayer.BestMove move : search.findTopMoves(game.getBoard(), game.getEngine(), rack,
+                Collections.singleton(best.word), 10, false, 0)) {
+            assertNotEquals(best.word, move.word);
+        }
+    }
+
+    @Test
+    public void blankVariantsAreNotRepeated() {
+        Dictionary dictionary = TestDictionary.get();
+        AIGame game = new AIGame(dictionary, 5);
+        for (int i = 0; i < 4; i++) {
+            game.play(game.think());
+        }
+        Tile[] rack = { Tile.of('a'), Tile.of('e'), Tile.of('r'), Tile.of('s'), Tile.of('t'), Tile.blank(), Tile.blank() };
+        List<AIPlayer.BestMove> top = new ParallelMoveSearch(dictionary, false).findTopMoves(
+                game.getBoard(), game.getEngine(), rack, Collections.<String>emptySet(), 10, false, 0);
+        Set<String> keys = new HashSet<>();
+        for (AIPlayer.BestMove move : top) {
+            assertTrue(describe(top), keys.add(move.word + " " + move.startRow + "," + move.startCol + " " + move.isHorizontal));
+        }
+        assertEquals(10, top.size());
+    }
+
+    static String describe(List<AIPlayer.BestMove> moves) {
+        StringBuilder sb = new StringBuilder();
+        for (AIPlayer.BestMove move : moves) {
+            sb.append(move.word).append('@').append(move.startRow).append(',').append(move.startCol)
+                    .append(move.isHorizontal ? 'H' : 'V').append(' ').append(move.equity).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Снимки позиций: файл читается в те же позиции, а партия, восстановленная
+ * из снимка, снимается заново в тот же снимок.
+ */
+public class PositionTest {
+
+    @Test
+    public void writeThenReadKeepsPositions() throws IOException {
+        List<Position> positions = harvest(5);
+        byte[] written = write(positions);
+        List<Position> read = Position.readAll(new ByteArrayInputStream(written));
+        assertEquals(positions.size(), read.size());
+        for (int i = 0; i < positions.size(); i++) {
+            assertEquals(positions.get(i).name, read.get(i).name);
+            assertEquals(positions.get(i).category, read.get(i).category);
+        }
+        assertArrayEquals(written, write(read));
+    }
+
+    @Test
+    public void restoredGameCapturesSamePosition() throws IOException {
+        Dictionary dictionary = TestDictionary.get();
+        for (Position position : harvest(6)) {
+            AIGame game = new AIGame(dictionary, position);
+            Position again = Position.capture(position.name, position.category, game);
+            assertArrayEquals(position.name, write(Arrays.asList(position)), write(Arrays.asList(again)));
+            assertEquals(position.pendingCells().length, game.getEngine().recentlyPlayedCellStack.size());
+        }
+    }
+
+    @Test
+    public void restoredGamesPlayTheSame() {
+        Dictionary dictionary = TestDictionary.get();
+        Position position = harvest(7).get(2);
+        AIGame first = new AIGame(dictionary, position);
+        AIGame second = new AIGame(dictionary, position);
+        while (!first.isOver()) {
+            AIPlayer.BestMove a = first.think();
+            AIPlayer.BestMove b = second.think();
+            assertEquals(a == null ? null : a.word, b == null ? null : b.word);
+            first.play(a);
+            second.play(b);
+        }
+        assertTrue(second.isOver());
+        assertEquals(first.getPlayer(0).getScore(), second.getPlayer(0).getScore());
+        assertEquals(first.getPlayer(1).getScore(), second.getPlayer(1).getScore());
+    }
+
+    /**
+     * Снимки одной партии: каждые 4 хода, а в конце — с выложенным, но не проверенным ходом.
+     */
+    private static List<Position> harvest(long seed) {
+        AIGame game = new AIGame(TestDictionary.get(), seed);
+        List<Position> positions = new ArrayList<>();
+        while (!game.isOver() && game.getBag().size() > 0) {
+            if (game.getTurn() % 4 == 0) {
+                Position.Category category = game.getTurn() == 0 ? Position.Category.EMPTY : Position.Category.MIDGAME;
+                positions.add(Position.capture("seed" + seed + "-turn" + game.getTurn(), category, game));
+            }
+            game.play(game.think());
+        }
+        AIPlayer.BestMove move = game.think();
+        if (move != null) {
+            game.place(move);
+        }
+        positions.add(Position.capture("seed" + seed + "-pending", Position.Category.ENDGAME, game));
+        return positions;
+    }
+
+    private static byte[] write(List<Position> positions) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Position.writeAll(out, positions);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,79 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Симуляция: кандидаты — top-K параллельного поиска без повторов, розыгрыши
+ * идут кругами, а до MIN_ROUNDS кругов выбирается лучший по очкам и остатку.
+ */
+public class SimulatorTest {
+
+    @Test
+    public void bestFallsBackToEquityBeforeMinRounds() {
+        List<AIPlayer.BestMove> candidates = Arrays.asList(move("first"), move("second"));
+        double[] sums = { 0, 10 * Simulator.MIN_ROUNDS };
+
+        int[] few = { Simulator.MIN_ROUNDS - 1, Simulator.MIN_ROUNDS };
+        Simulator.Result early = new Simulator.Result(candidates, few, sums, true, 1);
+        assertEquals(Simulator.MIN_ROUNDS - 1, early.rounds());
+        assertEquals("first", early.best().word);
+
+        int[] enough = { Simulator.MIN_ROUNDS, Simulator.MIN_ROUNDS };
+        Simulator.Result late = new Simulator.Result(candidates, enough, sums, true, 1);
+        assertEquals("second", late.best().word);
+        assertEquals(2L * Simulator.MIN_ROUNDS, late.totalRollouts());
+    }
+
+    @Test
+    public void rolloutsGoInRoundsOverDistinctCandidates() {
+        Dictionary dictionary = TestDictionary.get();
+        AIGame game = new AIGame(dictionary, 5);
+        for (int i = 0; i < 4; i++) {
+            game.play(game.think());
+        }
+        Tile[] rack = { Tile.of('a'), Tile.of('e'), Tile.of('r'), Tile.of('s'), Tile.of('t'), Tile.blank(), Tile.of('q') };
+        Set<String> none = Collections.emptySet();
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            Simulator simulator = new Simulator(single, 1, dictionary, false);
+            simulator.setSeed(1);
+            Simulator.Result result = simulator.simulate(game.getBoard(), game.getEngine(), rack, none,
+                    System.nanoTime() + 500_000_000L);
+
+            List<AIPlayer.BestMove> expected = new ParallelMoveSearch(dictionary, false).findTopMoves(
+                    game.getBoard(), game.getEngine(), rack, none, Simulator.DEFAULT_CANDIDATES, false, 0);
+            assertEquals(ParallelMoveSearchTest.describe(expected), ParallelMoveSearchTest.describe(result.candidates));
+            Set<String> keys = new HashSet<>();
+            for (AIPlayer.BestMove move : result.candidates) {
+                assertTrue(keys.add(move.word + " " + move.startRow + "," + move.startCol + " " + move.isHorizontal));
+            }
+
+            assertTrue(result.totalRollouts() > 0);
+            for (int count : result.rollouts) {
+                assertTrue(count - result.rounds() <= 1); // один поток — строго по кругу
+            }
+            assertTrue(result.candidates.contains(result.best()));
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    private static AIPlayer.BestMove move(String word) {
+        AIPlayer.BestMove move = new AIPlayer.BestMove();
+        move.word = word;
+        move.startRow = 7;
+        move.startCol = 7;
+        move.isHorizontal = true;
+        return move;
+    }
+}
@@ -0,0 +1,31 @@
+package edu.susu.scrabble;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Полный словарь приложения для тестов: загружается один раз на все тесты.
+ * Путь к file.txt задаёт core/build.gradle (свойство scrabble.words).
+ */
+final class TestDictionary {
+
+    private static Dictionary dictionary;
+
+    private TestDictionary() {
+    }
+
+    static String wordsPath() {
+        return System.getProperty("scrabble.words", "../app/src/main/assets/file.txt");
+    }
+
+    static synchronized Dictionary get() {
+        if (dictionary == null) {
+            try {
+                dictionary = new Dictionary(wordsPath());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return dictionary;
+    }
+}
@@ -0,0 +1,87 @@
+package edu.susu.scrabble;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Невыложенные плитки: вероятности по полному набору и совпадение
+ * инкрементных счётчиков Engine с пересчётом по доске.
+ */
+public class UnseenTilesTest {
+
+    private static final Tile[] NO_RACK = new Tile[7];
+
+    @Test
+    public void fullSetProbabilities() {
+        UnseenTiles unseen = new UnseenTiles();
+        int e = Tile.codeOf('e');
+        int q = Tile.codeOf('q');
+        assertEquals(100, unseen.total());
+        assertEquals(12, unseen.count(e));
+        assertEquals(2, unseen.count(Tile.BLANK));
+
+        assertEquals(12f / 100, unseen.probability(e, NO_RACK), 1e-6f);
+        Tile[] rack = { Tile.of('e'), Tile.of('e'), Tile.blank(), null, null, null, null };
+        assertEquals(10f / 97, unseen.probability(e, rack), 1e-6f);
+        assertEquals(1f / 97, unseen.probability(Tile.BLANK, rack), 1e-6f);
+
+        // Одна Q среди 100 плиток: P(хотя бы одна из 7) = 7/100
+        assertEquals(7f / 100, unseen.probabilityAtLeastOne(q, 7, NO_RACK), 1e-6f);
+        assertEquals(0f, unseen.probabilityAtLeastOne(q, 7, new Tile[] { Tile.of('q') }), 0f);
+        assertEquals(0f, unseen.probabilityAtLeastOne(e, 0, NO_RACK), 0f);
+    }
+
+    @Test
+    public void certainDrawWhenTooFewOtherTiles() {
+        UnseenTiles unseen = new UnseenTiles();
+        // Всё, кроме E, выложено: любая вытянутая плитка — E
+        for (int code = 0; code < UnseenTiles.SYMBOLS; code++) {
+            Tile tile = code == Tile.BLANK ? Tile.blankAs('a') : Tile.ofCode(code);
+            for (int n = code == Tile.codeOf('e') ? 0 : unseen.count(code); n > 0; n--) {
+                unseen.remove(tile);
+            }
+        }
+        assertEquals(12, unseen.total());
+        assertEquals(1f, unseen.probabilityAtLeastOne(Tile.codeOf('e'), 1, NO_RACK), 0f);
+        assertEquals(1f, unseen.probability(Tile.codeOf('e'), NO_RACK), 0f);
+        assertEquals(Tile.pointsOf(Tile.codeOf('e')), unseen.expectedPoints(NO_RACK), 1e-6f);
+    }
+
+    @Test
+    public void expectedPointsAndUnseenBy() {
+        UnseenTiles unseen = new UnseenTiles();
+        int points = 0;
+        for (int code = 0; code < Tile.LETTERS; code++) {
+            points += Bag.COUNTS[code] * Tile.pointsOf(code);
+        }
+        assertEquals(points / 100f, unseen.expectedPoints(NO_RACK), 1e-6f);
+        Tile[] rack = { Tile.of('z'), Tile.blank(), null, null, null, null, null };
+        assertEquals((points - Tile.pointsOf(Tile.codeOf('z'))) / 98f, unseen.expectedPoints(rack), 1e-6f);
+
+        int[] out = new int[UnseenTiles.SYMBOLS];
+        assertEquals(98, unseen.unseenBy(rack, out));
+        assertEquals(0, out[Tile.codeOf('z')]);
+        assertEquals(1, out[Tile.BLANK]);
+        assertEquals(12, out[Tile.codeOf('e')]);
+    }
+
+    @Test
+    public void engineCountsMatchRecount() {
+        Dictionary dictionary = TestDictionary.get();
+        AIGame game = new AIGame(dictionary, 4);
+        int[] expected = new int[UnseenTiles.SYMBOLS];
+        int[] actual = new int[UnseenTiles.SYMBOLS];
+        while (!game.isOver()) {
+            game.play(game.think());
+            UnseenTiles recount = new UnseenTiles();
+            recount.reset(game.getBoard());
+            UnseenTiles counts = game.getEngine().getUnseen();
+            Tile[] rack = game.current().getRack();
+            assertEquals(recount.total(), counts.total());
+            assertEquals(recount.unseenBy(rack, expected), counts.unseenBy(rack, actual));
+            assertArrayEquals("ход " + game.getTurn(), expected, actual);
+            assertEquals(recount.expectedPoints(rack), counts.expectedPoints(rack), 1e-6f);
+        }
+    }
+}